@@ -0,0 +1,57 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Серіалізація списку AppointmentDTO у JSON з тими ж налаштуваннями Jackson, що в application.yml
+ * (дати рядками ISO, часовий пояс Europe/Kiev). Writer для List<AppointmentDTO> створюється один раз
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentJsonBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<AppointmentDTO> appointments;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        appointments = BenchmarkData.appointmentDTOs(size);
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("Europe/Kiev"))
+                .build()
+                .writerFor(new TypeReference<List<AppointmentDTO>>() { });
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointments);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.dto.request.CreatePatientDTO;
+import com.example.booking_api.dto.validation.AppointmentTimeSlotValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AppointmentTimeSlot окремо і повна перевірка DTO запитів через Hibernate Validator -
+ * те, що виконується на кожному POST до валідації в сервісі
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentTimeSlotValidatorBenchmark {
+
+    private final AppointmentTimeSlotValidator timeSlotValidator = new AppointmentTimeSlotValidator();
+    private final CreateAppointmentDTO appointment = BenchmarkData.createAppointmentDTO();
+    private final CreatePatientDTO patient = new CreatePatientDTO("Іван Петренко", "+380501234567", "ivan@example.com");
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public boolean timeSlot() {
+        return timeSlotValidator.isValid(appointment, null);
+    }
+
+    @Benchmark
+    public int validateCreateAppointment() {
+        return validator.validate(appointment).size();
+    }
+
+    @Benchmark
+    public int validateCreatePatient() {
+        return validator.validate(patient).size();
+    }
+}
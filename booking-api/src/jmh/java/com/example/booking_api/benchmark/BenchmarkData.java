@@ -0,0 +1,76 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.Appointment;
+import com.example.booking_api.entity.AppointmentStatus;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Типові дані для бенчмарків: заповнені сутності й DTO, як після читання з БД
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 10, 9, 0, 5);
+
+    private BenchmarkData() {
+    }
+
+    public static Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        doctor.setDoctorName("Др. Олена Коваленко");
+        doctor.setSpecialization("Кардіолог");
+        doctor.setEmail("kovalenko@clinic.com");
+        doctor.setPhone("+380441234567");
+        doctor.setCreatedAt(CREATED_AT);
+        doctor.setVersion(3L);
+        return doctor;
+    }
+
+    public static Patient patient() {
+        Patient patient = new Patient();
+        patient.setId(42L);
+        patient.setPatientName("Іван Петренко");
+        patient.setPhoneNumber("+380501234567");
+        patient.setEmail("ivan@example.com");
+        patient.setCreatedAt(CREATED_AT);
+        patient.setVersion(1L);
+        return patient;
+    }
+
+    public static Appointment appointment(long id) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctor(doctor());
+        appointment.setPatient(patient());
+        appointment.setAppointmentDate(LocalDate.of(2026, 2, 15).plusDays(id % 30));
+        appointment.setAppointmentTime(LocalTime.of(9, 0).plusMinutes(15 * (id % 36)));
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setCreatedAt(CREATED_AT);
+        appointment.setVersion(0L);
+        return appointment;
+    }
+
+    public static List<AppointmentDTO> appointmentDTOs(int count) {
+        List<AppointmentDTO> dtos = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Appointment appointment = appointment(id);
+            dtos.add(new AppointmentDTO(id, 7L, "Др. Олена Коваленко", 42L, "Іван Петренко",
+                    appointment.getAppointmentDate(), appointment.getAppointmentTime(), AppointmentStatus.SCHEDULED,
+                    CREATED_AT, null, 0L));
+        }
+        return dtos;
+    }
+
+    public static CreateAppointmentDTO createAppointmentDTO() {
+        return new CreateAppointmentDTO(7L, 42L, LocalDate.now().plusDays(7), LocalTime.of(10, 30));
+    }
+}
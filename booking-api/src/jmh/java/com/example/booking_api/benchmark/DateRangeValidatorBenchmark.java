@@ -0,0 +1,102 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.validation.DateRange;
+import com.example.booking_api.dto.validation.DateRangeValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускна здатність @DateRange: попередня реалізація (getDeclaredField + setAccessible + Field.get
+ * на кожен виклик) проти DateRangeValidator з доступом, визначеним один раз на клас, -
+ * окремо isValid і повна перевірка через Hibernate Validator.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DateRangeValidatorBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateRangeValidatorBenchmark {
+
+    private final Period period = new Period(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+    private final DateRangeValidator rangeValidator = new DateRangeValidator();
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        rangeValidator.initialize(Period.class.getAnnotation(DateRange.class));
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public boolean reflectionPerCall() {
+        return reflectionIsValid(period, "from", "to");
+    }
+
+    @Benchmark
+    public boolean cachedAccessors() {
+        return rangeValidator.isValid(period, null);
+    }
+
+    @Benchmark
+    public int beanValidation() {
+        return validator.validate(period).size();
+    }
+
+    /** Попередня реалізація DateRangeValidator.isValid */
+    private static boolean reflectionIsValid(Object object, String startFieldName, String endFieldName) {
+        try {
+            Field startField = object.getClass().getDeclaredField(startFieldName);
+            Field endField = object.getClass().getDeclaredField(endFieldName);
+
+            startField.setAccessible(true);
+            endField.setAccessible(true);
+
+            LocalDate startDate = (LocalDate) startField.get(object);
+            LocalDate endDate = (LocalDate) endField.get(object);
+
+            if (startDate == null || endDate == null) {
+                return true;
+            }
+            return startDate.isBefore(endDate);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    @DateRange(startField = "from", endField = "to")
+    public static class Period {
+
+        private final LocalDate from;
+        private final LocalDate to;
+
+        public Period(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.request.CreateDoctorDTO;
+import com.example.booking_api.dto.request.CreatePatientDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.DoctorDTO;
+import com.example.booking_api.dto.response.PatientDTO;
+import com.example.booking_api.entity.Appointment;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+import com.example.booking_api.mapper.AppointmentMapper;
+import com.example.booking_api.mapper.DoctorMapper;
+import com.example.booking_api.mapper.PatientMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DoctorMapper і PatientMapper: сутність -> DTO (відповіді) і DTO -> сутність (створення).
+ * PatientMapper.toEntity включає нормалізацію search_name у Patient.setPatientName.
+ * AppointmentMapper.toDTO - на кожному записі відповіді масового створення і на оновленні;
+ * списки й вивантаження записів його не викликають, вони читають DTO проєкціями
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final DoctorMapper doctorMapper = new DoctorMapper();
+    private final PatientMapper patientMapper = new PatientMapper();
+    private final AppointmentMapper appointmentMapper = new AppointmentMapper();
+
+    private final Doctor doctor = BenchmarkData.doctor();
+    private final Patient patient = BenchmarkData.patient();
+    private final Appointment appointment = BenchmarkData.appointment(1L);
+    private final CreateDoctorDTO createDoctor =
+            new CreateDoctorDTO("Др. Олена Коваленко", "Кардіолог", "kovalenko@clinic.com", "+380441234567");
+    private final CreatePatientDTO createPatient =
+            new CreatePatientDTO("Іван Петренко", "+380501234567", "ivan@example.com");
+
+    @Benchmark
+    public DoctorDTO doctorToDTO() {
+        return doctorMapper.toDTO(doctor);
+    }
+
+    @Benchmark
+    public Doctor doctorToEntity() {
+        return doctorMapper.toEntity(createDoctor);
+    }
+
+    @Benchmark
+    public PatientDTO patientToDTO() {
+        return patientMapper.toDTO(patient);
+    }
+
+    @Benchmark
+    public Patient patientToEntity() {
+        return patientMapper.toEntity(createPatient);
+    }
+
+    @Benchmark
+    public AppointmentDTO appointmentToDTO() {
+        return appointmentMapper.toDTO(appointment);
+    }
+}
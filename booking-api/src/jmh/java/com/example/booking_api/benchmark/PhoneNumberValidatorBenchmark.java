@@ -0,0 +1,59 @@
+package com.example.booking_api.benchmark;
+
+import com.example.booking_api.dto.validation.PhoneNumberValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Перевірка телефону: попередня реалізація (String.matches компілює Pattern на кожен виклик),
+ * той самий вираз, скомпільований один раз, і прохід по символах у PhoneNumberValidator.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PhoneNumberValidatorBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhoneNumberValidatorBenchmark {
+
+    private static final String FORMAT = "^(\\+380|0)[0-9]{9}$";
+    private static final Pattern COMPILED_FORMAT = Pattern.compile(FORMAT);
+
+    @Param({"+380501234567", "0501234567", "+38050123456x"})
+    private String phoneNumber;
+
+    private final PhoneNumberValidator validator = new PhoneNumberValidator();
+
+    @Benchmark
+    public boolean stringMatches() {
+        return phoneNumber.matches(FORMAT);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return COMPILED_FORMAT.matcher(phoneNumber).matches();
+    }
+
+    @Benchmark
+    public boolean scanner() {
+        return validator.isValid(phoneNumber, null);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return PhoneNumberValidator.normalize(phoneNumber);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.booking_api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource, що видає з'єднання лише під дозвіл справедливого семафора.
+ *
+ * Дозволів стільки ж, скільки з'єднань у пулі Hikari, тож потік, який отримав дозвіл,
+ * одразу бере вільне з'єднання, а решта чекають у FIFO-черзі семафора не довше permitTimeout
+ * і отримують SQLTransientConnectionException (SQLState 08001) замість 30-секундного
+ * connection-timeout пулу. Дозвіл повертається при першому close() з'єднання
+ */
+final class ConnectionPermitDataSource extends DelegatingDataSource {
+
+    static final String SQL_STATE_UNABLE_TO_CONNECT = "08001";
+
+    private final Semaphore permits;
+    private final long permitTimeoutNanos;
+    private final int maxPermits;
+
+    ConnectionPermitDataSource(DataSource target, int maxPermits, Duration permitTimeout) {
+        super(target);
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("Кількість дозволів на з'єднання має бути додатною: " + maxPermits);
+        }
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, true);
+        this.permitTimeoutNanos = permitTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return withPermit(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return withPermit(() -> super.getConnection(username, password));
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    int getMaxPermits() {
+        return maxPermits;
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(permitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Усі " + maxPermits + " з'єднань з БД зайняті довше за "
+                                + Duration.ofNanos(permitTimeoutNanos).toMillis() + " мс",
+                        SQL_STATE_UNABLE_TO_CONNECT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Очікування з'єднання з БД перервано",
+                    SQL_STATE_UNABLE_TO_CONNECT, e);
+        }
+    }
+
+    private Connection withPermit(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(ConnectionPermitDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReleaseOnClose(connection));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Повертає дозвіл при першому close(); решта викликів іде до з'єднання пулу без змін
+     */
+    private final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnClose(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.booking_api.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.example.booking_api.service.BookingMetrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фільтр Logback: не більше eventsPerSecond подій за секунду, решта відкидається
+ * і рахується в booking.log.dropped.
+ *
+ * Стоїть на апендері повільних запитів профілю prod (logback-spring.xml): коли БД гальмує,
+ * повільним стає кожен запит, і без обмеження лог повторює весь потік SQL, від якого
+ * профіль якраз відмовився. Перші події кожної секунди проходять - цього досить, щоб
+ * побачити, які запити повільні; точну кількість дає статистика Hibernate
+ */
+public class LogRateLimitFilter extends Filter<ILoggingEvent> {
+
+    private int eventsPerSecond = 5;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger eventsInSecond = new AtomicInteger();
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        long second = event.getTimeStamp() / 1000;
+        long current = currentSecond.get();
+        // Нову секунду відкриває один потік; на межі секунд ліміт приблизний, для логу цього досить
+        if (second > current && currentSecond.compareAndSet(current, second)) {
+            eventsInSecond.set(0);
+        }
+        if (eventsInSecond.incrementAndGet() <= eventsPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        BookingMetrics.logEventDropped(event.getLoggerName());
+        return FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (eventsPerSecond < 0) {
+            addError("eventsPerSecond не може бути від'ємним: " + eventsPerSecond);
+            return;
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.booking_api.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Власний бюджет SQL-запитів для endpoint (на методі) чи всього контролера (на класі)
+ * замість booking.sql.budget.statements - для тих, кому запитів законно потрібно більше,
+ * як масовому створенню записів
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+
+    /** Найбільша кількість SQL-запитів на один HTTP-запит */
+    int value();
+}
@@ -0,0 +1,46 @@
+package com.example.booking_api.config;
+
+import com.example.booking_api.controller.AppointmentController;
+import com.example.booking_api.controller.DoctorController;
+import com.example.booking_api.controller.PatientController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Заголовки SQL-бюджету для відповідей з тілом: після того як тіло записано, postHandle
+ * змінити заголовки вже не може. Тут же, до запису тіла, спрацьовує fail-on-exceed
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ControllerAdvice(assignableTypes = {AppointmentController.class, DoctorController.class, PatientController.class})
+class SqlStatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementBudgetInterceptor interceptor;
+
+    SqlStatementBudgetAdvice(SqlStatementBudgetInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            interceptor.report(servletRequest.getServletRequest(), servletResponse.getServletResponse());
+        }
+        return body;
+    }
+}
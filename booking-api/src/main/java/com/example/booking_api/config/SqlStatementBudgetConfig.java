@@ -0,0 +1,56 @@
+package com.example.booking_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Бюджет SQL-запитів для /api/appointments, /api/doctors і /api/patients (див. SqlStatementBudgetInterceptor).
+ *
+ * booking.sql.budget.statements - бюджет за замовчуванням, окремі endpoint задають свій через @SqlStatementBudget;
+ * booking.sql.budget.fail-on-exceed - перевищення стає помилкою 500 (вмикається в тестах)
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SqlStatementBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlStatementBudgetInterceptor interceptor;
+
+    SqlStatementBudgetConfig(SqlStatementBudgetInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor(
+            @Value("${booking.sql.budget.statements:10}") int statements,
+            @Value("${booking.sql.budget.fail-on-exceed:false}") boolean failOnExceed,
+            MeterRegistry meterRegistry) {
+        return new SqlStatementBudgetInterceptor(statements, failOnExceed, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/appointments/**", "/api/doctors/**", "/api/patients/**");
+    }
+}
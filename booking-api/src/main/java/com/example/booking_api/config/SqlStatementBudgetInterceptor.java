@@ -0,0 +1,139 @@
+package com.example.booking_api.config;
+
+import com.example.booking_api.exception.SqlStatementBudgetExceededException;
+import com.example.booking_api.service.BookingMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бюджет SQL-запитів на HTTP-запит - рання ознака N+1.
+ *
+ * preHandle відкриває SqlStatementScope, StatementCountingDataSource рахує в ній запити і час JDBC.
+ * Підсумок іде в заголовки X-SQL-Statements і X-SQL-Time-Ms (перед записом тіла - SqlStatementBudgetAdvice,
+ * для відповідей без тіла - postHandle) і в метрики booking.request.sql.*; перевищення бюджету -
+ * попередження в лог, а з booking.sql.budget.fail-on-exceed=true - ще й 500 замість відповіді.
+ * Відповіді-помилки з GlobalExceptionHandler заголовків не мають, але в метриках враховані
+ */
+@Slf4j
+class SqlStatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final String SCOPE_ATTRIBUTE = SqlStatementScope.class.getName();
+
+    private final int defaultBudget;
+    private final boolean failOnExceed;
+    private final MeterRegistry meterRegistry;
+
+    SqlStatementBudgetInterceptor(int defaultBudget, boolean failOnExceed, MeterRegistry meterRegistry) {
+        this.defaultBudget = defaultBudget;
+        this.failOnExceed = failOnExceed;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Асинхронне продовження (вивантаження) виконується в іншому потоці - рахувати нічого
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        request.setAttribute(SCOPE_ATTRIBUTE, SqlStatementScope.open(budget(method)));
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (!response.isCommitted()) {
+            report(request, response);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        SqlStatementScope scope = scope(request);
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatementScope scope = scope(request);
+        if (scope == null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return;
+        }
+        scope.close();
+
+        Tags tags = Tags.of("uri", uri(request), "method", request.getMethod());
+        DistributionSummary.builder(BookingMetrics.REQUEST_SQL_STATEMENTS)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(scope.statements());
+        Timer.builder(BookingMetrics.REQUEST_SQL_TIME)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(scope.nanos(), TimeUnit.NANOSECONDS);
+        if (scope.exceeded()) {
+            meterRegistry.counter(BookingMetrics.REQUEST_SQL_BUDGET_EXCEEDED, tags).increment();
+            log.warn("Перевищено бюджет SQL: {} {} - {} запитів при бюджеті {}, {} мс у JDBC",
+                    request.getMethod(), uri(request), scope.statements(), scope.budget(), millis(scope));
+        }
+    }
+
+    /**
+     * Заголовки і перевірка бюджету - один раз, поки відповідь ще не відправлена
+     */
+    void report(HttpServletRequest request, HttpServletResponse response) {
+        SqlStatementScope scope = scope(request);
+        if (scope == null || !scope.markReported()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(scope.statements()));
+        response.setHeader(TIME_HEADER, millis(scope));
+        if (failOnExceed && scope.exceeded()) {
+            throw new SqlStatementBudgetExceededException(request.getMethod() + " " + uri(request)
+                    + ": виконано " + scope.statements() + " SQL-запитів при бюджеті " + scope.budget());
+        }
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private int budget(HandlerMethod method) {
+        SqlStatementBudget budget = method.getMethodAnnotation(SqlStatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), SqlStatementBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    private static SqlStatementScope scope(HttpServletRequest request) {
+        return (SqlStatementScope) request.getAttribute(SCOPE_ATTRIBUTE);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static String millis(SqlStatementScope scope) {
+        return String.format(Locale.ROOT, "%.3f", scope.nanos() / 1_000_000.0);
+    }
+}
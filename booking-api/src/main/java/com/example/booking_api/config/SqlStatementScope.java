@@ -0,0 +1,73 @@
+package com.example.booking_api.config;
+
+/**
+ * SQL-запити одного HTTP-запиту: скільки виконано і скільки вони тривали в JDBC.
+ *
+ * Область прив'язана до потоку обробки запиту (ThreadLocal) - її відкриває SqlStatementBudgetInterceptor,
+ * а поповнює StatementCountingDataSource. Запити з інших потоків (асинхронне вивантаження,
+ * паралельні завдання) сюди не потрапляють
+ */
+final class SqlStatementScope {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final int budget;
+    private int statements;
+    private long nanos;
+    private boolean reported;
+
+    private SqlStatementScope(int budget) {
+        this.budget = budget;
+    }
+
+    static SqlStatementScope open(int budget) {
+        SqlStatementScope scope = new SqlStatementScope(budget);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Відкрита область поточного потоку або null
+     */
+    static SqlStatementScope current() {
+        return CURRENT.get();
+    }
+
+    void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    int budget() {
+        return budget;
+    }
+
+    boolean exceeded() {
+        return statements > budget;
+    }
+
+    /**
+     * true лише при першому виклику - заголовки і перевірку бюджету застосовуємо один раз
+     */
+    boolean markReported() {
+        if (reported) {
+            return false;
+        }
+        reported = true;
+        return true;
+    }
+}
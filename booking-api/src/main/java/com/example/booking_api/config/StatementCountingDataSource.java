@@ -0,0 +1,135 @@
+package com.example.booking_api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource, що рахує виконання JDBC-запитів і їх тривалість у SqlStatementScope поточного потоку.
+ *
+ * З'єднання обгортається лише тоді, коли його беруть у відкритій області (тобто в запиті до
+ * контролерів з бюджетом) - фонові завдання, прогрів індексів і Flyway отримують з'єднання пулу як є.
+ * Кожен execute* - один запит, executeBatch - теж один (так його бачить БД: один round trip).
+ * unwrap повертає з'єднання драйвера, тож COPY імпорту пацієнтів іде повз лічильник
+ */
+final class StatementCountingDataSource extends DelegatingDataSource {
+
+    StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        if (SqlStatementScope.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new CountingConnection(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Спільне для з'єднання і запитів: equals/hashCode за ідентичністю проксі, unwrap до інтерфейсу проксі
+     * повертає сам проксі, решта викликів - до обгорнутого об'єкта
+     */
+    private abstract static class Forwarding implements InvocationHandler {
+
+        final Object target;
+
+        Forwarding(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+            return forward(proxy, method, args);
+        }
+
+        Object forward(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    /**
+     * createStatement / prepareStatement / prepareCall повертають запит, що рахує свої виконання
+     */
+    private static final class CountingConnection extends Forwarding {
+
+        CountingConnection(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object forward(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = super.forward(proxy, method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(method.getReturnType(), new CountingStatement(result));
+            }
+            return result;
+        }
+    }
+
+    private static final class CountingStatement extends Forwarding {
+
+        CountingStatement(Object target) {
+            super(target);
+        }
+
+        @Override
+        Object forward(Object proxy, Method method, Object[] args) throws Throwable {
+            SqlStatementScope scope = SqlStatementScope.current();
+            if (scope == null || !method.getName().startsWith("execute")) {
+                return super.forward(proxy, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return super.forward(proxy, method, args);
+            } finally {
+                scope.record(System.nanoTime() - started);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.booking_api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Режим віртуальних потоків (spring.threads.virtual.enabled=true).
+ *
+ * Сам перемикач обробляє Spring Boot: запити Tomcat і @Scheduled виконуються
+ * у віртуальних потоках. Пул платформних потоків Tomcat (server.tomcat.threads.max) більше
+ * не обмежує, скільки запитів одночасно звертаються до БД, тому це обмеження повертається
+ * тут семафором перед пулом з'єднань - див. ConnectionPermitDataSource.
+ * Дозволів за замовчуванням стільки ж, скільки з'єднань у Hikari (spring.datasource.hikari.maximum-pool-size)
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /** Розмір пулу Hikari, якщо його не задано явно */
+    static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor connectionPermitPostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty("booking.db.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                        HIKARI_DEFAULT_POOL_SIZE));
+        Duration permitTimeout = environment.getProperty("booking.db.connection-permit-timeout", Duration.class,
+                Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionPermitDataSource)) {
+                    log.info("Віртуальні потоки: до БД одночасно не більше {} з'єднань, очікування дозволу до {} мс",
+                            maxConnections, permitTimeout.toMillis());
+                    return new ConnectionPermitDataSource(dataSource, maxConnections, permitTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
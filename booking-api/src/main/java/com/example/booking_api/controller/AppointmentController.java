@@ -1,24 +1,42 @@
 package com.example.booking_api.controller;
 
 
+import com.example.booking_api.config.SqlStatementBudget;
 import com.example.booking_api.dto.request.CreateAppointmentDTO;
 import com.example.booking_api.dto.request.UpdateAppointmentDTO;
 import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.BulkResultDTO;
+import com.example.booking_api.dto.response.DayAvailabilityDTO;
+import com.example.booking_api.dto.response.FreeSlotDTO;
+import com.example.booking_api.repository.AppointmentSnapshot;
+import com.example.booking_api.service.AppointmentExportService;
 import com.example.booking_api.service.AppointmentService;
+import com.example.booking_api.service.AvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/appointments")
 @RequiredArgsConstructor
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final AppointmentExportService appointmentExportService;
 
     /**
      * POST /api/appointments - Створити запис
@@ -30,13 +48,28 @@ public class AppointmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * POST /api/appointments/bulk - Створити список записів (частковий успіх, результат по кожному елементу)
+     */
+    @SqlStatementBudget(50)  // до MAX_BULK_SIZE записів: 3 SELECT + по nextval і INSERT-batch на кожні 50
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO> createAppointments(
+            @RequestBody List<CreateAppointmentDTO> dtos) {
+        BulkResultDTO result = appointmentService.createAppointments(dtos);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * GET /api/appointments/{id} - Отримати запис за ID
+     * ETag / Last-Modified зі знімка в кеші DTO; з актуальним If-None-Match відповідь 304 без тіла
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AppointmentDTO> getAppointmentById(@PathVariable Long id) {
-        AppointmentDTO appointment = appointmentService.getAppointmentById(id);
-        return ResponseEntity.ok(appointment);
+    public ResponseEntity<AppointmentDTO> getAppointmentById(@PathVariable Long id, WebRequest request) {
+        AppointmentSnapshot appointment = appointmentService.getAppointmentSnapshot(id);
+        if (ConditionalGet.notModified(request, "appointment", id, appointment.version(), appointment.lastModified())) {
+            return null;  // 304 Not Modified
+        }
+        return ResponseEntity.ok(appointment.toDTO());
     }
 
     /**
@@ -59,6 +92,51 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    /**
+     * GET /api/appointments/export?from=...&to=...&format=ndjson|csv - Вивантаження записів за діапазон дат
+     * Відповідь пишеться з курсора БД в окремому потоці; пам'ять не залежить від кількості записів
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        AppointmentExportService.Format exportFormat = AppointmentExportService.Format.of(format);
+        AppointmentExportService.checkRange(from, to);
+
+        StreamingResponseBody body = out -> appointmentExportService.export(from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportFormat.fileName(from, to))
+                        .build().toString())
+                .body(body);
+    }
+
+    /**
+     * GET /api/appointments/availability/doctor/{doctorId}?from=...&to=... - Вільні слоти лікаря по днях
+     */
+    @GetMapping("/availability/doctor/{doctorId}")
+    public ResponseEntity<List<DayAvailabilityDTO>> getDoctorAvailability(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DayAvailabilityDTO> availability = availabilityService.getDoctorAvailability(doctorId, from, to);
+        return ResponseEntity.ok(availability);
+    }
+
+    /**
+     * GET /api/appointments/availability/earliest?specialization=...&from=...&to=... - Найраніший вільний слот
+     */
+    @GetMapping("/availability/earliest")
+    public ResponseEntity<FreeSlotDTO> findEarliestFreeSlot(
+            @RequestParam String specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        FreeSlotDTO slot = availabilityService.findEarliestFreeSlot(specialization, from, to);
+        return ResponseEntity.ok(slot);
+    }
+
     /**
      * PUT /api/appointments/{id} - Оновити запис
      */
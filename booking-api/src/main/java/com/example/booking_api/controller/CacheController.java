@@ -0,0 +1,32 @@
+package com.example.booking_api.controller;
+
+import com.example.booking_api.dto.response.CacheRegionStatsDTO;
+import com.example.booking_api.service.AppointmentDTOCache;
+import com.example.booking_api.service.SecondLevelCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final SecondLevelCache secondLevelCache;
+    private final AppointmentDTOCache appointmentDTOCache;
+
+    /**
+     * GET /api/cache/stats - Влучання і промахи second-level cache лікарів і пацієнтів та кешу DTO записів
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStatistics() {
+        List<CacheRegionStatsDTO> stats = new ArrayList<>(secondLevelCache.getStatistics());
+        stats.add(appointmentDTOCache.getStatistics());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.booking_api.controller;
+
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Умовний GET за часом останньої зміни ресурсу: сильний ETag (тип, id, версія, якщо вона є,
+ * і час зміни з точністю БД до мікросекунд) та Last-Modified. Якщо If-None-Match /
+ * If-Modified-Since клієнта актуальні, відповідь 304 без серіалізації DTO
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Виставляє ETag і Last-Modified; true - відповідь 304 уже сформована, тіло не потрібне
+     */
+    static boolean notModified(WebRequest request, String resource, Long id, LocalDateTime lastModified) {
+        return notModified(request, resource, id, null, lastModified);
+    }
+
+    static boolean notModified(WebRequest request, String resource, Long id, Long version, LocalDateTime lastModified) {
+        Instant instant = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        return request.checkNotModified(etag(resource, id, version, instant), instant.toEpochMilli());
+    }
+
+    /**
+     * Те саме для WebFlux (профіль reactive): однакові ETag в обох варіантах API
+     */
+    static boolean notModified(ServerWebExchange exchange, String resource, Long id, Long version,
+                               LocalDateTime lastModified) {
+        Instant instant = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        return exchange.checkNotModified(etag(resource, id, version, instant), instant);
+    }
+
+    private static String etag(String resource, Long id, Long version, Instant lastModified) {
+        return "\"" + resource + "-" + id + "-" + (version != null ? version + "-" : "")
+                + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModified)) + "\"";
+    }
+}
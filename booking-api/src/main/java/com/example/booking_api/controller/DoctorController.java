@@ -3,17 +3,22 @@ package com.example.booking_api.controller;
 
 import com.example.booking_api.dto.request.CreateDoctorDTO;
 import com.example.booking_api.dto.request.UpdateDoctorDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.DoctorDTO;
 import com.example.booking_api.service.DoctorService;
+import com.example.booking_api.service.NameSearch;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/doctors")
 @RequiredArgsConstructor
 public class DoctorController {
@@ -30,19 +35,30 @@ public class DoctorController {
     }
 
     /**
-     * GET /api/doctors - Отримати всіх лікарів
+     * GET /api/doctors?cursor=...&size=... - Сторінка лікарів (keyset-пагінація за id)
+     * Курсор наступної сторінки повертається в заголовку X-Next-Cursor
      */
     @GetMapping
-    public ResponseEntity<List<DoctorDTO>> getAllDoctors() {
-        List<DoctorDTO> doctors = doctorService.getAllDoctors();
-        return ResponseEntity.ok(doctors);
+    public ResponseEntity<List<DoctorDTO>> getAllDoctors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<DoctorDTO> page = doctorService.getDoctorsPage(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     /**
      * GET /api/doctors/{id} - Отримати лікаря за ID
+     * ETag / Last-Modified; з актуальним If-None-Match відповідь 304 без тіла
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable Long id) {
+    public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, "doctor", id, doctorService.getDoctorLastModified(id))) {
+            return null;  // 304 Not Modified
+        }
         DoctorDTO doctor = doctorService.getDoctorById(id);
         return ResponseEntity.ok(doctor);
     }
@@ -67,13 +83,16 @@ public class DoctorController {
     }
 
     /**
-     * GET /api/doctors/search?name=... - Пошук лікарів за ім'ям
+     * GET /api/doctors/search?name=...&mode=contains|fuzzy&limit=... - Пошук лікарів за ім'ям
+     * fuzzy - нечіткий пошук з ранжуванням за схожістю (для typeahead), не більше limit результатів
      */
     @GetMapping("/search")
     public ResponseEntity<List<DoctorDTO>> searchDoctorsByName(
-            @RequestParam String name) {
-        List<DoctorDTO> doctors = doctorService.searchDoctorsByName(name);
-        return ResponseEntity.ok(doctors);
+            @RequestParam String name,
+            @RequestParam(defaultValue = NameSearch.MODE_CONTAINS) String mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<DoctorDTO> found = doctorService.searchDoctors(name, mode, limit);
+        return ResponseEntity.ok(found);
     }
 
     /**
@@ -1,24 +1,36 @@
 package com.example.booking_api.controller;
 
 
+import com.example.booking_api.config.SqlStatementBudget;
 import com.example.booking_api.dto.request.CreatePatientDTO;
 import com.example.booking_api.dto.request.UpdatePatientDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.PatientDTO;
+import com.example.booking_api.dto.response.PatientImportResultDTO;
+import com.example.booking_api.dto.response.PatientSuggestionDTO;
+import com.example.booking_api.service.NameSearch;
+import com.example.booking_api.service.PatientImportService;
 import com.example.booking_api.service.PatientService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/patients")
 @RequiredArgsConstructor
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
 
     /**
      * POST /api/patients - Створити пацієнта
@@ -30,19 +42,41 @@ public class PatientController {
     }
 
     /**
-     * GET /api/patients - Отримати всіх пацієнтів
+     * POST /api/patients/import - Масовий імпорт з CSV (заголовок: patientName,phoneNumber,email)
+     * Тіло читається потоком; відповідь - скільки імпортовано і які рядки відхилено та чому
+     */
+    @SqlStatementBudget(25)  // фіксований набір запитів до staging-таблиці; самі рядки йдуть через COPY
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<PatientImportResultDTO> importPatients(InputStream csv) {
+        PatientImportResultDTO result = patientImportService.importPatients(csv);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /api/patients?cursor=...&size=... - Сторінка пацієнтів (keyset-пагінація за id)
+     * Курсор наступної сторінки повертається в заголовку X-Next-Cursor
      */
     @GetMapping
-    public ResponseEntity<List<PatientDTO>> getAllPatients() {
-        List<PatientDTO> patients = patientService.getAllPatients();
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<List<PatientDTO>> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<PatientDTO> page = patientService.getPatientsPage(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     /**
      * GET /api/patients/{id} - Отримати пацієнта за ID
+     * ETag / Last-Modified; з актуальним If-None-Match відповідь 304 без тіла
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PatientDTO> getPatientById(@PathVariable Long id) {
+    public ResponseEntity<PatientDTO> getPatientById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, "patient", id, patientService.getPatientLastModified(id))) {
+            return null;  // 304 Not Modified
+        }
         PatientDTO patient = patientService.getPatientById(id);
         return ResponseEntity.ok(patient);
     }
@@ -66,12 +100,27 @@ public class PatientController {
     }
 
     /**
-     * GET /api/patients/search?name=... - Пошук пацієнтів за ім'ям
+     * GET /api/patients/search?name=...&mode=contains|fuzzy&limit=... - Пошук пацієнтів за ім'ям
+     * fuzzy - нечіткий пошук з ранжуванням за схожістю (для typeahead), не більше limit результатів
      */
     @GetMapping("/search")
-    public ResponseEntity<List<PatientDTO>> searchPatientsByName(@RequestParam String name) {
-        List<PatientDTO> patients = patientService.searchPatientsByName(name);
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<List<PatientDTO>> searchPatientsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = NameSearch.MODE_CONTAINS) String mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<PatientDTO> found = patientService.searchPatients(name, mode, limit);
+        return ResponseEntity.ok(found);
+    }
+
+    /**
+     * GET /api/patients/typeahead?query=...&limit=... - Підказки за префіксом імені, телефону чи email
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<PatientSuggestionDTO>> suggestPatients(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<PatientSuggestionDTO> suggestions = patientService.suggestPatients(query, limit);
+        return ResponseEntity.ok(suggestions);
     }
 
     /**
@@ -19,4 +19,10 @@ public class UpdateAppointmentDTO {
     private LocalTime appointmentTime;
 
     private AppointmentStatus status;
+
+    /**
+     * Версія з AppointmentDTO, на основі якої зроблено зміну. Якщо запис відтоді змінився - 409.
+     * Без версії зміна застосовується до поточного стану
+     */
+    private Long version;
 }
@@ -23,4 +23,9 @@ public class UpdateDoctorDTO {
 
     @Size(max = 50, message = "Номер телефону не повинен перевищувати 50 символів")
     private String phone;
+
+    /**
+     * Очікувана версія (з DoctorDTO); необов'язкова, див. UpdateAppointmentDTO.version
+     */
+    private Long version;
 }
@@ -20,4 +20,9 @@ public class UpdatePatientDTO {
     @Email(message = "Невірний формат email")
     @Size(max = 255, message = "Email не може бути довше 255 символів")
     private String email;
+
+    /**
+     * Очікувана версія (з PatientDTO); необов'язкова, див. UpdateAppointmentDTO.version
+     */
+    private Long version;
 }
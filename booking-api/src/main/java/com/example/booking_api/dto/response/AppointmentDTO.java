@@ -32,4 +32,9 @@ public class AppointmentDTO {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    /**
+     * Версія запису; передається в UpdateAppointmentDTO, щоб зміна не перезаписала чужу
+     */
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат одного елемента масового створення: або створений запис, або причина відмови
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+
+    /** Позиція елемента у вхідному списку */
+    private int index;
+
+    private AppointmentDTO appointment;
+
+    private String error;
+}
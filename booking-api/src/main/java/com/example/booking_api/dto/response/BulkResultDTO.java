@@ -0,0 +1,19 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDTO {
+
+    private int created;
+
+    private int failed;
+
+    /** Результати в порядку вхідного списку */
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,27 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика регіону кешу (second-level cache або кеш DTO) з моменту старту застосунку
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long putCount;
+
+    /**
+     * Частка влучань серед звернень (0..1); 0, якщо звернень ще не було
+     */
+    private double hitRatio;
+}
@@ -0,0 +1,26 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Сторінка результатів keyset-пагінації.
+ * nextCursor == null означає, що це остання сторінка
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Заголовок відповіді, в якому контролери повертають курсор наступної сторінки
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> items;
+
+    private String nextCursor;
+}
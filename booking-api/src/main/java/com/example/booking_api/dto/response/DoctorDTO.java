@@ -24,4 +24,5 @@ public class DoctorDTO {
 
     private LocalDateTime updatedAt;
 
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotDTO {
+
+    private Long doctorId;
+
+    private String doctorName;
+
+    private LocalDate date;
+
+    private LocalTime time;
+}
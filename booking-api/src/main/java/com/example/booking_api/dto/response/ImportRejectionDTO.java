@@ -0,0 +1,18 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Відхилений рядок імпорту: номер рядка у файлі (заголовок - рядок 1) і причина
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectionDTO {
+
+    private long line;
+
+    private String reason;
+}
@@ -21,4 +21,6 @@ public class PatientDTO {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    private Long version;
 }
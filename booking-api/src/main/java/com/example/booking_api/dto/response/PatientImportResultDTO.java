@@ -0,0 +1,22 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientImportResultDTO {
+
+    /** Записів у файлі (без заголовка і порожніх рядків) */
+    private long total;
+
+    private long imported;
+
+    private long rejected;
+
+    /** Відхилені рядки в порядку файлу; не більше PatientImportService.MAX_REPORTED_REJECTIONS */
+    private List<ImportRejectionDTO> rejections;
+}
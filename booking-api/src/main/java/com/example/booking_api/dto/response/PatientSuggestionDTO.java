@@ -0,0 +1,22 @@
+package com.example.booking_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Підказка typeahead: лише контактні поля пацієнта, які зберігає in-memory індекс
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSuggestionDTO {
+
+    private Long id;
+
+    private String patientName;
+
+    private String phoneNumber;
+
+    private String email;
+}
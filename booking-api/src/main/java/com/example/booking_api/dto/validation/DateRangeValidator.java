@@ -2,14 +2,45 @@ package com.example.booking_api.dto.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
+/**
+ * Початок діапазону має бути строго раніше кінця. Підтримуються LocalDate, LocalDateTime і LocalTime
+ * (обидва поля одного типу).
+ *
+ * Доступ до полів визначається один раз на клас DTO (ClassValue): для публічного геттера
+ * (Lombok @Data) LambdaMetafactory генерує Function, яку JIT вбудовує як звичайний виклик;
+ * без геттера - MethodHandle на поле. На кожній перевірці - лише два виклики і compareTo
+ */
 public class DateRangeValidator implements ConstraintValidator<DateRange, Object> {
 
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(LocalDate.class, LocalDateTime.class, LocalTime.class);
+
     private String startFieldName;
     private String endFieldName;
 
+    /** Поля задає анотація, тому кеш - свій у кожного екземпляра валідатора */
+    private final ClassValue<Optional<Range>> ranges = new ClassValue<>() {
+        @Override
+        protected Optional<Range> computeValue(Class<?> type) {
+            return Optional.ofNullable(Range.of(type, startFieldName, endFieldName));
+        }
+    };
+
     @Override
     public void initialize(DateRange constraintAnnotation) {
         this.startFieldName = constraintAnnotation.startField();
@@ -18,28 +49,105 @@ public class DateRangeValidator implements ConstraintValidator<DateRange, Object
 
     @Override
     public boolean isValid(Object object, ConstraintValidatorContext context) {
-        try {
-            // Отримуємо значення полів через Reflection
-            Field startField = object.getClass().getDeclaredField(startFieldName);
-            Field endField = object.getClass().getDeclaredField(endFieldName);
+        if (object == null) {
+            return true;
+        }
+        Range range = ranges.get(object.getClass()).orElse(null);
+        // Якщо поля не знайдено або їх не можна порівняти - валідація не проходить
+        if (range == null) {
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> start = (Comparable<Object>) range.start().apply(object);
+        Object end = range.end().apply(object);
+
+        // Якщо одне з полів null - валідація проходить
+        if (start == null || end == null) {
+            return true;
+        }
+        return start.compareTo(end) < 0;
+    }
 
-            startField.setAccessible(true);
-            endField.setAccessible(true);
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
 
-            LocalDate startDate = (LocalDate) startField.get(object);
-            LocalDate endDate = (LocalDate) endField.get(object);
+    private record Range(Function<Object, Object> start, Function<Object, Object> end) {
 
-            // Якщо одне з полів null - валідація проходить
-            if (startDate == null || endDate == null) {
-                return true;
+        static Range of(Class<?> type, String startFieldName, String endFieldName) {
+            Field startField = findField(type, startFieldName);
+            Field endField = findField(type, endFieldName);
+            if (startField == null || endField == null
+                    || startField.getType() != endField.getType()
+                    || !SUPPORTED_TYPES.contains(startField.getType())) {
+                return null;
             }
+            return new Range(accessor(type, startField), accessor(type, endField));
+        }
 
-            // Перевіряємо, що startDate < endDate
-            return startDate.isBefore(endDate);
+        private static Field findField(Class<?> type, String name) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                try {
+                    return current.getDeclaredField(name);
+                } catch (NoSuchFieldException e) {
+                    // шукаємо в батьківському класі
+                }
+            }
+            return null;
+        }
 
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            // Якщо поля не знайдено - валідація не проходить
-            return false;
+        private static Function<Object, Object> accessor(Class<?> type, Field field) {
+            Method getter = getter(type, field);
+            if (getter != null) {
+                try {
+                    return lambda(MethodHandles.publicLookup().unreflect(getter));
+                } catch (IllegalAccessException | IllegalStateException e) {
+                    // клас недоступний ззовні пакета - читаємо поле напряму
+                }
+            }
+            try {
+                MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectGetter(field)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                return target -> {
+                    try {
+                        return handle.invokeExact(target);
+                    } catch (Throwable e) {
+                        throw new IllegalStateException("Не вдалося прочитати поле " + field.getName(), e);
+                    }
+                };
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Немає доступу до поля " + field.getName() + " у " + type.getName(), e);
+            }
+        }
+
+        /**
+         * Публічний геттер, оголошений у публічному класі, - лише його можна викликати зі згенерованої лямбди
+         */
+        private static Method getter(Class<?> type, Field field) {
+            String name = field.getName();
+            try {
+                Method getter = type.getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+                boolean accessible = Modifier.isPublic(getter.getDeclaringClass().getModifiers());
+                return accessible && getter.getReturnType() == field.getType() ? getter : null;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> lambda(MethodHandle getter) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                        MethodHandles.lookup(),
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        getter,
+                        getter.type());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Не вдалося створити доступ до " + getter, e);
+            }
         }
     }
 }
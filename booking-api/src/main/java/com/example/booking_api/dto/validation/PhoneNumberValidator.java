@@ -3,12 +3,16 @@ package com.example.booking_api.dto.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+/**
+ * Формат +380XXXXXXXXX або 0XXXXXXXXX. Перевірка - прохід по символах без регулярного виразу:
+ * вона виконується на кожному створенні пацієнта і на кожному рядку імпорту
+ */
 public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, String> {
 
-    @Override
-    public void initialize(PhoneNumber constraintAnnotation) {
-        // Ініціалізація (якщо потрібна)
-    }
+    private static final String COUNTRY_PREFIX = "+380";
+    private static final int SUBSCRIBER_DIGITS = 9;
+    private static final int LOCAL_LENGTH = 1 + SUBSCRIBER_DIGITS;                           // 0XXXXXXXXX
+    private static final int INTERNATIONAL_LENGTH = COUNTRY_PREFIX.length() + SUBSCRIBER_DIGITS;  // +380XXXXXXXXX
 
     @Override
     public boolean isValid(String phoneNumber, ConstraintValidatorContext context) {
@@ -16,8 +20,45 @@ public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, St
         if (phoneNumber == null || phoneNumber.isEmpty()) {
             return true;
         }
+        return isValidNumber(phoneNumber);
+    }
 
-        // Перевірка формату: +380XXXXXXXXX або 0XXXXXXXXX
-        return phoneNumber.matches("^(\\+380|0)[0-9]{9}$");
+    public static boolean isValidNumber(CharSequence phoneNumber) {
+        int length = phoneNumber.length();
+        int digitsFrom;
+        if (length == LOCAL_LENGTH && phoneNumber.charAt(0) == '0') {
+            digitsFrom = 1;
+        } else if (length == INTERNATIONAL_LENGTH && startsWithCountryPrefix(phoneNumber)) {
+            digitsFrom = COUNTRY_PREFIX.length();
+        } else {
+            return false;
+        }
+        for (int i = digitsFrom; i < length; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Канонічна форма для збереження і пошуку: 0XXXXXXXXX -> +380XXXXXXXXX, щоб обидва записи
+     * одного номера потрапляли в той самий рядок індексу. Інші значення повертаються як є
+     */
+    public static String normalize(String phoneNumber) {
+        if (phoneNumber != null && phoneNumber.length() == LOCAL_LENGTH && isValidNumber(phoneNumber)) {
+            return "+38" + phoneNumber;
+        }
+        return phoneNumber;
+    }
+
+    private static boolean startsWithCountryPrefix(CharSequence phoneNumber) {
+        for (int i = 0; i < COUNTRY_PREFIX.length(); i++) {
+            if (phoneNumber.charAt(i) != COUNTRY_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
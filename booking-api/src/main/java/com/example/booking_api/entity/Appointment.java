@@ -1,30 +1,44 @@
 package com.example.booking_api.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments",
+        uniqueConstraints = @UniqueConstraint(
+                name = Appointment.SLOT_CONSTRAINT,
+                columnNames = {"doctor_id", "appointment_date", "appointment_time", "slot_active"}
+        ))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
 
+    /**
+     * Унікальний індекс: один активний запис на слот лікаря
+     */
+    public static final String SLOT_CONSTRAINT = "uk_appointments_doctor_slot";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "doctor_id", nullable = false)
+    @JoinColumn(name = "doctor_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_appointments_doctor"))
     private Doctor doctor;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "patient_id", nullable = false)
+    @JoinColumn(name = "patient_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_appointments_patient"))
     private Patient patient;
 
     @Column(name = "appointment_date", nullable = false)
@@ -37,23 +51,41 @@ public class Appointment {
     @Column(name = "status", nullable = false, length = 50)
     private AppointmentStatus status;
 
+    /**
+     * TRUE, поки запис займає слот; NULL для скасованих.
+     * NULL-и в унікальному індексі не конфліктують, тому скасований слот можна забронювати знову
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "slot_active")
+    private Boolean slotActive;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Версія для оптимістичного блокування: Hibernate додає її в WHERE кожного UPDATE/DELETE
+     * і збільшує на 1, тож паралельна зміна завершиться конфліктом, а не перезапише чужу
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = AppointmentStatus.SCHEDULED;
         }
+        syncSlotActive();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        syncSlotActive();
     }
 
     public AppointmentStatus getStatus() {
@@ -62,5 +94,10 @@ public class Appointment {
 
     public void setStatus(AppointmentStatus status) {
         this.status = status;
+        syncSlotActive();
+    }
+
+    private void syncSlotActive() {
+        slotActive = status != null && status.occupiesSlot() ? Boolean.TRUE : null;
     }
 }
@@ -5,5 +5,12 @@ public enum AppointmentStatus {
     CONFIRMED,   // Підтверджено
     COMPLETED,   // Завершено
     CANCELLED,   // Скасовано
-    NO_SHOW      // Пацієнт не з'явився
+    NO_SHOW;     // Пацієнт не з'явився
+
+    /**
+     * Чи займає запис у цьому статусі слот лікаря (скасований слот можна бронювати знову)
+     */
+    public boolean occupiesSlot() {
+        return this != CANCELLED;
+    }
 }
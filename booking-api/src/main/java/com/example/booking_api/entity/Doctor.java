@@ -1,26 +1,38 @@
 package com.example.booking_api.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "doctors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Doctor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_seq")
+    @SequenceGenerator(name = "doctors_seq", sequenceName = "doctors_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "doctor_name", nullable = false)
     private String doctorName;
 
+    /** Нормалізоване ім'я для пошуку, див. SearchName */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "search_name")
+    private String searchName;
+
     @Column(name = "specialization")
     private String specialization;
 
@@ -36,9 +48,21 @@ public class Doctor {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Версія для оптимістичного блокування (див. Appointment.version)
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL)
     private List<Appointment> appointments;
 
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+        this.searchName = SearchName.normalize(doctorName);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -2,26 +2,45 @@ package com.example.booking_api.entity;
 
 import com.example.booking_api.entity.Appointment;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients",
+        uniqueConstraints = @UniqueConstraint(
+                name = Patient.PHONE_CONSTRAINT,
+                columnNames = "phone_number"
+        ))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patients")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Patient {
 
+    /** Унікальний індекс телефону (V9); номер зберігається в канонічній формі, див. PhoneNumberValidator */
+    public static final String PHONE_CONSTRAINT = "uk_patients_phone_number";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "patient_name", nullable = false, length = 255)
     private String patientName;
 
+    /** Нормалізоване ім'я для пошуку, див. SearchName */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "search_name")
+    private String searchName;
+
     @Column(name = "phone_number", length = 50)
     private String phoneNumber;
 
@@ -34,9 +53,21 @@ public class Patient {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Версія для оптимістичного блокування (див. Appointment.version)
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL)
     private List<Appointment> appointments;
 
+    public void setPatientName(String patientName) {
+        this.patientName = patientName;
+        this.searchName = SearchName.normalize(patientName);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
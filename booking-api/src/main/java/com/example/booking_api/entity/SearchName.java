@@ -0,0 +1,44 @@
+package com.example.booking_api.entity;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Нормалізація імен для пошуку. Однаково застосовується до збереженого search_name
+ * і до пошукового запиту, тому "Мар’яна  ГОНЧАРЕНКО" і "мар'яна гончаренко" збігаються.
+ * search_name лікаря і пацієнта оновлюється разом з іменем і має GIN-індекс триграм (див. NameSearch)
+ */
+public final class SearchName {
+
+    private static final Locale UKRAINIAN = Locale.forLanguageTag("uk");
+
+    /** Усі варіанти апострофа, які трапляються в українських іменах: ’ ʼ ‘ ` ´ ′ */
+    private static final Pattern APOSTROPHES = Pattern.compile("[\\u2019\\u02BC\\u2018`\\u00B4\\u2032]");
+
+    /** Дефіси й тире різної ширини */
+    private static final Pattern DASHES = Pattern.compile("[\\u2010-\\u2015\\u2212]");
+
+    /** Знак наголосу (комбінований акут), яким інколи позначають наголос у кирилиці */
+    private static final Pattern STRESS_MARKS = Pattern.compile("\\u0301");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchName() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        // Апострофи замінюємо до NFKC: вона розкладає ´ на пробіл і знак наголосу
+        String normalized = APOSTROPHES.matcher(name).replaceAll("'");
+        normalized = Normalizer.normalize(normalized, Normalizer.Form.NFKC);
+        normalized = STRESS_MARKS.matcher(normalized).replaceAll("");
+        normalized = DASHES.matcher(normalized).replaceAll("-");
+        normalized = normalized.toLowerCase(UKRAINIAN)
+                .replace('ё', 'е')
+                .replace('ґ', 'г');
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.booking_api.exception;
+
+/**
+ * HTTP-запит виконав більше SQL-запитів, ніж дозволяє бюджет endpoint.
+ * Кидається лише з booking.sql.budget.fail-on-exceed=true (тести), щоб регресія N+1 валила збірку
+ */
+public class SqlStatementBudgetExceededException extends RuntimeException {
+
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,4 +1,29 @@
 package com.example.booking_api.mapper;
 
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.Appointment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сутність запису -> DTO для відповідей, що вже мають сутність на руках: масове створення і оновлення.
+ * Списки, вивантаження і GET за id читають DTO одразу JPQL-проєкціями (AppointmentRepository)
+ */
+@Component
 public class AppointmentMapper {
+
+    public AppointmentDTO toDTO(Appointment appointment) {
+        AppointmentDTO dto = new AppointmentDTO();
+        dto.setId(appointment.getId());
+        dto.setDoctorId(appointment.getDoctor().getId());
+        dto.setDoctorName(appointment.getDoctor().getDoctorName());
+        dto.setPatientId(appointment.getPatient().getId());
+        dto.setPatientName(appointment.getPatient().getPatientName());
+        dto.setAppointmentDate(appointment.getAppointmentDate());
+        dto.setAppointmentTime(appointment.getAppointmentTime());
+        dto.setStatus(appointment.getStatus());
+        dto.setCreatedAt(appointment.getCreatedAt());
+        dto.setUpdatedAt(appointment.getUpdatedAt());
+        dto.setVersion(appointment.getVersion());
+        return dto;
+    }
 }
@@ -42,6 +42,7 @@ public class DoctorMapper {
         dto.setPhone(doctor.getPhone());
         dto.setCreatedAt(doctor.getCreatedAt());
         dto.setUpdatedAt(doctor.getUpdatedAt());
+        dto.setVersion(doctor.getVersion());
         return dto;
     }
 }
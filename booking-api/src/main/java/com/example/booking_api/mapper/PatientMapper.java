@@ -34,6 +34,7 @@ public class PatientMapper {
         dto.setPhoneNumber(patient.getPhoneNumber());
         dto.setCreatedAt(patient.getCreatedAt());
         dto.setUpdatedAt(patient.getUpdatedAt());
+        dto.setVersion(patient.getVersion());
         return dto;
     }
 
@@ -1,19 +1,28 @@
 package com.example.booking_api.repository;
 
+import com.example.booking_api.dto.response.AppointmentDTO;
 import com.example.booking_api.entity.Appointment;
 import com.example.booking_api.entity.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     // ========== DERIVED QUERY METHODS ==========
 
     /**
@@ -72,4 +81,86 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.patient.id = :patientId")
     Long countByPatientId(@Param("patientId") Long patientId);
+
+    /**
+     * Активні (не скасовані) слоти, починаючи з дати - для прогріву індексу зайнятості
+     */
+    @Query("SELECT a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, " +
+            "a.appointmentTime AS appointmentTime " +
+            "FROM Appointment a WHERE a.slotActive = true AND a.appointmentDate >= :from")
+    List<BookedSlot> findActiveSlotsFrom(@Param("from") LocalDate from);
+
+    /**
+     * Активні слоти заданих лікарів у діапазоні дат - одна перевірка конфліктів для масового створення
+     */
+    @Query("SELECT a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, " +
+            "a.appointmentTime AS appointmentTime " +
+            "FROM Appointment a WHERE a.slotActive = true AND a.doctor.id IN :doctorIds " +
+            "AND a.appointmentDate BETWEEN :from AND :to")
+    List<BookedSlot> findActiveSlots(@Param("doctorIds") Collection<Long> doctorIds,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // ========== DTO PROJECTIONS ==========
+
+    /**
+     * Знімок запису для кешу DTO: поля DTO і час останньої зміни для ETag / Last-Modified.
+     * У DTO входять імена лікаря і пацієнта, тому враховуються і їхні зміни
+     */
+    @Query("SELECT new com.example.booking_api.repository.AppointmentSnapshot(" +
+            "a.id, d.id, d.doctorName, p.id, p.patientName, " +
+            "a.appointmentDate, a.appointmentTime, a.status, a.createdAt, a.updatedAt, a.version, " +
+            "GREATEST(COALESCE(a.updatedAt, a.createdAt), " +
+            "COALESCE(d.updatedAt, d.createdAt), COALESCE(p.updatedAt, p.createdAt))) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+            "WHERE a.id = :id")
+    Optional<AppointmentSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Запис за ID одразу у вигляді DTO (один SELECT з JOIN)
+     */
+    @Query("SELECT new com.example.booking_api.dto.response.AppointmentDTO(" +
+            "a.id, d.id, d.doctorName, p.id, p.patientName, " +
+            "a.appointmentDate, a.appointmentTime, a.status, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+            "WHERE a.id = :id")
+    Optional<AppointmentDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Записи лікаря одразу у вигляді DTO.
+     * Лікар і пацієнт підтягуються JOIN-ом в одному SELECT, тому немає N+1 на LAZY-асоціаціях
+     */
+    @Query("SELECT new com.example.booking_api.dto.response.AppointmentDTO(" +
+            "a.id, d.id, d.doctorName, p.id, p.patientName, " +
+            "a.appointmentDate, a.appointmentTime, a.status, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+            "WHERE d.id = :doctorId " +
+            "ORDER BY a.appointmentDate, a.appointmentTime")
+    List<AppointmentDTO> findDTOsByDoctorId(@Param("doctorId") Long doctorId);
+
+    /**
+     * Записи пацієнта одразу у вигляді DTO (один SELECT з JOIN)
+     */
+    @Query("SELECT new com.example.booking_api.dto.response.AppointmentDTO(" +
+            "a.id, d.id, d.doctorName, p.id, p.patientName, " +
+            "a.appointmentDate, a.appointmentTime, a.status, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+            "WHERE p.id = :patientId " +
+            "ORDER BY a.appointmentDate, a.appointmentTime")
+    List<AppointmentDTO> findDTOsByPatientId(@Param("patientId") Long patientId);
+
+    /**
+     * Записи в діапазоні дат для експорту - потоком, без списку в пам'яті.
+     * DTO не потрапляють у persistence context, а з fetch size і вимкненим autocommit (транзакція
+     * readOnly) драйвер PostgreSQL читає рядки курсором порціями по EXPORT_FETCH_SIZE.
+     * Потік треба закрити і споживати всередині транзакції
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.booking_api.dto.response.AppointmentDTO(" +
+            "a.id, d.id, d.doctorName, p.id, p.patientName, " +
+            "a.appointmentDate, a.appointmentTime, a.status, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+            "WHERE a.appointmentDate BETWEEN :from AND :to " +
+            "ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    Stream<AppointmentDTO> streamDTOsByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,26 @@
+package com.example.booking_api.repository;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Незмінний знімок запису для кешу DTO і умовного GET: поля AppointmentDTO плюс час останньої
+ * зміни з урахуванням лікаря і пацієнта (їхні імена входять у DTO). Читається одним SELECT з JOIN
+ */
+public record AppointmentSnapshot(Long id, Long doctorId, String doctorName, Long patientId, String patientName,
+                                  LocalDate appointmentDate, LocalTime appointmentTime, AppointmentStatus status,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
+                                  LocalDateTime lastModified) {
+
+    /**
+     * Новий DTO на кожен виклик - викликач може його змінювати
+     */
+    public AppointmentDTO toDTO() {
+        return new AppointmentDTO(id, doctorId, doctorName, patientId, patientName,
+                appointmentDate, appointmentTime, status, createdAt, updatedAt, version);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.booking_api.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Проєкція зайнятого слоту: лише те, що потрібно індексу зайнятості, без завантаження сутностей
+ */
+public interface BookedSlot {
+
+    Long getDoctorId();
+
+    LocalDate getAppointmentDate();
+
+    LocalTime getAppointmentTime();
+}
@@ -1,11 +1,16 @@
 package com.example.booking_api.repository;
 
 import com.example.booking_api.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +21,13 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
     /**
      * Знайти лікаря за email
+     * Результат кешується в query cache (регіон "doctor-lookups"); Hibernate скидає його при будь-якій
+     * зміні таблиці, тому закешований id не переживе оновлення лікаря
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "doctor-lookups")
+    })
     Optional<Doctor> findByEmail(String email);
 
     /**
@@ -34,8 +45,37 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Keyset-сторінка: лікарі з id більшим за курсор, впорядковані за id
+     */
+    List<Doctor> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // ========== CUSTOM QUERY METHODS ==========
 
+    /**
+     * Час останньої зміни (для ETag / Last-Modified) без завантаження сутності
+     */
+    @Query("SELECT COALESCE(d.updatedAt, d.createdAt) FROM Doctor d WHERE d.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    /** Режим fuzzy на pg_trgm, див. NameSearch */
+    @Query(value = "SELECT * FROM doctors d " +
+            "WHERE d.search_name LIKE :pattern ESCAPE '!' " +
+            "OR :query <% d.search_name OR :query % d.search_name " +
+            "ORDER BY word_similarity(:query, d.search_name) DESC, " +
+            "similarity(:query, d.search_name) DESC, d.search_name, d.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Doctor> searchByTrigram(@Param("query") String query,
+                                 @Param("pattern") String pattern,
+                                 @Param("limit") int limit);
+
+    /** Режим fuzzy без pg_trgm, див. NameSearch */
+    @Query("SELECT d FROM Doctor d WHERE d.searchName LIKE :pattern ESCAPE '!' " +
+            "ORDER BY LOCATE(:query, d.searchName), d.searchName, d.id")
+    List<Doctor> searchBySubstring(@Param("query") String query,
+                                   @Param("pattern") String pattern,
+                                   Pageable pageable);
+
     /**
      * Знайти всіх лікарів певної спеціалізації з сортуванням за ім'ям
      */
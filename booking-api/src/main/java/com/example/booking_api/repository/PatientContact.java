@@ -0,0 +1,15 @@
+package com.example.booking_api.repository;
+
+/**
+ * Проєкція контактних полів пацієнта для побудови індексу typeahead без завантаження сутностей
+ */
+public interface PatientContact {
+
+    Long getId();
+
+    String getPatientName();
+
+    String getPhoneNumber();
+
+    String getEmail();
+}
@@ -1,11 +1,16 @@
 package com.example.booking_api.repository;
 
 import com.example.booking_api.entity.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +21,22 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
 
     /**
      * Знайти пацієнта за email
+     * Результат кешується в query cache (регіон "patient-lookups"); Hibernate скидає його при будь-якій
+     * зміні таблиці, тому закешований id не переживе оновлення пацієнта
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "patient-lookups")
+    })
     Optional<Patient> findByEmail(String email);
 
     /**
-     * Знайти пацієнта за номером телефону
+     * Знайти пацієнта за номером телефону (кешується так само, як findByEmail)
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "patient-lookups")
+    })
     Optional<Patient> findByPhoneNumber(String phoneNumber);
 
     /**
@@ -39,8 +54,44 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      */
     boolean existsByPhoneNumber(String phoneNumber);
 
+    /**
+     * Keyset-сторінка: пацієнти з id більшим за курсор, впорядковані за id
+     */
+    List<Patient> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // ========== CUSTOM QUERY METHODS ==========
 
+    /**
+     * Час останньої зміни (для ETag / Last-Modified) без завантаження сутності
+     */
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Patient p WHERE p.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    /**
+     * Keyset-сторінка контактних полів пацієнтів (id більший за курсор) для індексу typeahead
+     */
+    @Query("SELECT p.id AS id, p.patientName AS patientName, p.phoneNumber AS phoneNumber, p.email AS email " +
+            "FROM Patient p WHERE p.id > :afterId ORDER BY p.id")
+    List<PatientContact> findContactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** Режим fuzzy на pg_trgm, див. NameSearch */
+    @Query(value = "SELECT * FROM patients p " +
+            "WHERE p.search_name LIKE :pattern ESCAPE '!' " +
+            "OR :query <% p.search_name OR :query % p.search_name " +
+            "ORDER BY word_similarity(:query, p.search_name) DESC, " +
+            "similarity(:query, p.search_name) DESC, p.search_name, p.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Patient> searchByTrigram(@Param("query") String query,
+                                  @Param("pattern") String pattern,
+                                  @Param("limit") int limit);
+
+    /** Режим fuzzy без pg_trgm, див. NameSearch */
+    @Query("SELECT p FROM Patient p WHERE p.searchName LIKE :pattern ESCAPE '!' " +
+            "ORDER BY LOCATE(:query, p.searchName), p.searchName, p.id")
+    List<Patient> searchBySubstring(@Param("query") String query,
+                                    @Param("pattern") String pattern,
+                                    Pageable pageable);
+
     /**
      * Знайти пацієнтів, які мають записи на певну дату
      */
@@ -0,0 +1,31 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+
+/**
+ * Рядок CSV для AppointmentDTO (екранування - Csv). Дати і час - ISO-8601, порожнє поле - null
+ */
+public final class AppointmentCsv {
+
+    public static final String HEADER = "id,doctorId,doctorName,patientId,patientName,"
+            + "appointmentDate,appointmentTime,status,createdAt,updatedAt,version\r\n";
+
+    private AppointmentCsv() {
+    }
+
+    public static String line(AppointmentDTO dto) {
+        StringBuilder line = new StringBuilder(128);
+        Csv.appendField(line, dto.getId()).append(',');
+        Csv.appendField(line, dto.getDoctorId()).append(',');
+        Csv.appendField(line, dto.getDoctorName()).append(',');
+        Csv.appendField(line, dto.getPatientId()).append(',');
+        Csv.appendField(line, dto.getPatientName()).append(',');
+        Csv.appendField(line, dto.getAppointmentDate()).append(',');
+        Csv.appendField(line, dto.getAppointmentTime()).append(',');
+        Csv.appendField(line, dto.getStatus()).append(',');
+        Csv.appendField(line, dto.getCreatedAt()).append(',');
+        Csv.appendField(line, dto.getUpdatedAt()).append(',');
+        Csv.appendField(line, dto.getVersion());
+        return line.append("\r\n").toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.CacheRegionStatsDTO;
+import com.example.booking_api.repository.AppointmentSnapshot;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through кеш записів для GET /api/appointments/{id}, який постійно опитують системи
+ * нагадувань і кіоски. Разом із DTO кешується час останньої зміни, тож влучання відповідає
+ * і на умовний GET (ETag / Last-Modified) без запиту до БД. Обмежений розміром
+ * (booking.cache.appointments.max-size) і часом життя (booking.cache.appointments.ttl) -
+ * TTL обмежує застарілість після змін, які пройшли повз цей інстанс.
+ *
+ * Записи скидаються після коміту змін запису, а також імені його лікаря чи пацієнта.
+ * Кеш асинхронний: у мапі лежить future, а loader виконує потік, що першим прийшов по ключ,
+ * поза блокуванням мапи (compute синхронного кешу тримав би synchronized на весь запит до БД
+ * і з віртуальними потоками блокував би потік-носій). Скидання прибирає і незавершене
+ * завантаження, тому читання, що почалося до коміту, не поверне в кеш старе значення.
+ * У кеші лежить незмінний AppointmentSnapshot, з якого кожен викликач будує власний
+ * AppointmentDTO: зміна DTO викликачем чи серіалізатором не псує запис для інших запитів
+ */
+@Component
+public class AppointmentDTOCache {
+
+    public static final String REGION = "appointment-dtos";
+
+    private final AsyncCache<Long, AppointmentSnapshot> cache;
+
+    public AppointmentDTOCache(@Value("${booking.cache.appointments.max-size:10000}") long maxSize,
+                               @Value("${booking.cache.appointments.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Знімок з кешу або від loader-а; відсутній запис не кешується
+     */
+    public Optional<AppointmentSnapshot> get(Long id, Function<Long, Optional<AppointmentSnapshot>> loader) {
+        CompletableFuture<AppointmentSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<AppointmentSnapshot> future = cache.get(id, (key, executor) -> created);
+        if (future != created) {
+            try {
+                return Optional.ofNullable(future.join());
+            } catch (CompletionException e) {
+                // Завантаження іншого потоку впало - читаємо самі і отримуємо значення або власну помилку
+                return loader.apply(id);
+            }
+        }
+        try {
+            // null-значення Caffeine прибирає з кешу сам
+            AppointmentSnapshot loaded = loader.apply(id).orElse(null);
+            created.complete(loaded);
+            return Optional.ofNullable(loaded);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(Long id) {
+        AfterCommit.run(() -> cache.synchronous().invalidate(id));
+    }
+
+    /**
+     * Скинути записи лікаря (змінилось ім'я). Перебір усього кешу: перейменування рідкісні
+     */
+    public void invalidateDoctor(Long doctorId) {
+        AfterCommit.run(() -> cache.synchronous().asMap().values()
+                .removeIf(snapshot -> Objects.equals(snapshot.doctorId(), doctorId)));
+    }
+
+    /**
+     * Скинути записи пацієнта (змінилось ім'я). Видалення пацієнта скидання не потребує:
+     * пацієнта із записами видалити не можна
+     */
+    public void invalidatePatient(Long patientId) {
+        AfterCommit.run(() -> cache.synchronous().asMap().values()
+                .removeIf(snapshot -> Objects.equals(snapshot.patientId(), patientId)));
+    }
+
+    public CacheRegionStatsDTO getStatistics() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheRegionStatsDTO(REGION, stats.hitCount(), stats.missCount(),
+                stats.loadSuccessCount(), stats.requestCount() == 0 ? 0.0 : stats.hitRate());
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
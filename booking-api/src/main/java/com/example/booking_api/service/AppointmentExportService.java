@@ -0,0 +1,127 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.repository.AppointmentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Експорт записів за діапазон дат у NDJSON або CSV.
+ *
+ * Рядки йдуть з курсора БД одразу у вихідний потік: у пам'яті лише поточний DTO і буфери
+ * серіалізатора, тому пам'ять не залежить від кількості записів у діапазоні
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AppointmentExportService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String fileName(LocalDate from, LocalDate to) {
+            return "appointments_" + from + "_" + to + "." + extension;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Непідтримуваний формат експорту: " + value + ". Доступні: ndjson, csv");
+        }
+    }
+
+    // ========== EXPORT ==========
+
+    /**
+     * Перевірка діапазону до початку відповіді: після першого записаного байта статус уже не змінити
+     */
+    public static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Дата 'from' не може бути пізніше за 'to'");
+        }
+    }
+
+    /**
+     * Записує записи з from по to включно у out і повертає їх кількість.
+     * Транзакція тримає курсор відкритим, доки пишеться відповідь; out не закривається
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        checkRange(from, to);
+        long count;
+        try (Stream<AppointmentDTO> rows = appointmentRepository.streamDTOsByDateRange(from, to)) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case CSV -> writeCsv(rows.iterator(), out);
+            };
+        }
+        log.info("Експорт записів {} - {} ({}): {} рядків", from, to, format, count);
+        return count;
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private long writeNdjson(Iterator<AppointmentDTO> rows, OutputStream out) throws IOException {
+        // Без flush після кожного об'єкта - відповідь іде мережею в міру заповнення буферів
+        ObjectWriter writer = objectMapper.writerFor(AppointmentDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<AppointmentDTO> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(AppointmentCsv.HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            writer.write(AppointmentCsv.line(rows.next()));
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -4,123 +4,274 @@ package com.example.booking_api.service;
 import com.example.booking_api.dto.request.CreateAppointmentDTO;
 import com.example.booking_api.dto.request.UpdateAppointmentDTO;
 import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.BulkItemResultDTO;
+import com.example.booking_api.dto.response.BulkResultDTO;
 import com.example.booking_api.entity.Appointment;
 import com.example.booking_api.entity.AppointmentStatus;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.entity.Patient;
+import com.example.booking_api.mapper.AppointmentMapper;
 import com.example.booking_api.repository.AppointmentRepository;
+import com.example.booking_api.repository.AppointmentSnapshot;
 import com.example.booking_api.repository.DoctorRepository;
 import com.example.booking_api.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(BookingMetrics.SERVICE_TIMER)
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final AppointmentDTOCache appointmentDTOCache;
+    private final Validator validator;
+    private final AppointmentMapper appointmentMapper;
+
+    /** Максимальна кількість записів в одному масовому запиті */
+    public static final int MAX_BULK_SIZE = 1000;
 
     // ========== CREATE ==========
 
     @Transactional
     public AppointmentDTO createAppointment(CreateAppointmentDTO dto) {
-        // Перевірка Doctor
-        Doctor doctor = doctorRepository.findById(dto.getDoctorId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Лікаря з ID " + dto.getDoctorId() + " не знайдено"
-                ));
-
-        // Перевірка Patient
-        Patient patient = patientRepository.findById(dto.getPatientId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Пацієнта з ID " + dto.getPatientId() + " не знайдено"
-                ));
-
-        // Перевірка чи вільний час
-        boolean timeSlotTaken = appointmentRepository
-                .existsByDoctorIdAndAppointmentDateAndAppointmentTime(
-                        dto.getDoctorId(),
-                        dto.getAppointmentDate(),
-                        dto.getAppointmentTime()
-                );
-
-        if (timeSlotTaken) {
+        // Вільний за індексом слот іде одразу на вставку; зайнятий перевіряється в БД перед відмовою
+        if (slotOccupancyIndex.confirmOccupied(dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime())) {
+            BookingMetrics.slotConflict(BookingMetrics.Check.INDEX);
             throw new IllegalArgumentException(
                     "Цей час вже зайнятий. Оберіть інший час."
             );
         }
 
-        // Створення запису
+        // Лікар і пацієнт - лише посилання без SELECT, їх існування перевіряють FK
         Appointment appointment = new Appointment();
-        appointment.setDoctor(doctor);
-        appointment.setPatient(patient);
+        appointment.setDoctor(doctorRepository.getReferenceById(dto.getDoctorId()));
+        appointment.setPatient(patientRepository.getReferenceById(dto.getPatientId()));
         appointment.setAppointmentDate(dto.getAppointmentDate());
         appointment.setAppointmentTime(dto.getAppointmentTime());
         appointment.setStatus(AppointmentStatus.SCHEDULED);
 
-        Appointment saved = appointmentRepository.save(appointment);
-        return convertToDTO(saved);
+        // Зайнятість слоту гарантує унікальний індекс, тому окремий exists-запит не потрібен
+        // і дві паралельні вставки не можуть забронювати один слот
+        Appointment saved;
+        try {
+            saved = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw BookingViolation.translate(dto.getDoctorId(), dto.getPatientId(), e);
+        }
+        AfterCommit.run(() -> slotOccupancyIndex.occupy(
+                dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime()));
+
+        return appointmentRepository.findDTOById(saved.getId())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Запис з ID " + saved.getId() + " не знайдено"
+                ));
+    }
+
+    /**
+     * Масове створення записів з частковим успіхом: невалідні елементи, елементи з неіснуючим
+     * лікарем/пацієнтом чи зайнятим слотом повертаються з помилкою, решта вставляється JDBC batch-ами.
+     * Незалежно від розміру списку - по одному SELECT на лікарів, пацієнтів і зайняті слоти
+     */
+    @Transactional
+    public BulkResultDTO createAppointments(List<CreateAppointmentDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Список записів порожній");
+        }
+        if (dtos.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException(
+                    "За один запит можна створити не більше " + MAX_BULK_SIZE + " записів"
+            );
+        }
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[dtos.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validationError(dtos.get(i));
+            if (error != null) {
+                BookingMetrics.validationFailure(BookingMetrics.Source.BULK_ITEM);
+                results[i] = new BulkItemResultDTO(i, null, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        List<Appointment> toInsert = new ArrayList<>();
+        List<Integer> insertedIndexes = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            Set<Long> doctorIds = new HashSet<>();
+            Set<Long> patientIds = new HashSet<>();
+            LocalDate from = LocalDate.MAX;
+            LocalDate to = LocalDate.MIN;
+            for (int i : candidates) {
+                CreateAppointmentDTO dto = dtos.get(i);
+                doctorIds.add(dto.getDoctorId());
+                patientIds.add(dto.getPatientId());
+                from = min(from, dto.getAppointmentDate());
+                to = max(to, dto.getAppointmentDate());
+            }
+
+            Map<Long, Doctor> doctors = doctorRepository.findAllById(doctorIds).stream()
+                    .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+            Map<Long, Patient> patients = patientRepository.findAllById(patientIds).stream()
+                    .collect(Collectors.toMap(Patient::getId, Function.identity()));
+            // Зайняті в БД слоти; сюди ж додаємо прийняті елементи, щоб відсікти дублікати всередині списку
+            Set<SlotKey> takenSlots = appointmentRepository.findActiveSlots(doctorIds, from, to).stream()
+                    .map(slot -> new SlotKey(slot.getDoctorId(), slot.getAppointmentDate(), slot.getAppointmentTime()))
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            for (int i : candidates) {
+                CreateAppointmentDTO dto = dtos.get(i);
+                Doctor doctor = doctors.get(dto.getDoctorId());
+                Patient patient = patients.get(dto.getPatientId());
+                String error = null;
+                if (doctor == null) {
+                    error = "Лікаря з ID " + dto.getDoctorId() + " не знайдено";
+                } else if (patient == null) {
+                    error = "Пацієнта з ID " + dto.getPatientId() + " не знайдено";
+                } else if (!takenSlots.add(new SlotKey(dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime()))) {
+                    error = "Цей час вже зайнятий. Оберіть інший час.";
+                    BookingMetrics.slotConflict(BookingMetrics.Check.BULK);
+                }
+                if (error != null) {
+                    results[i] = new BulkItemResultDTO(i, null, error);
+                    continue;
+                }
+
+                Appointment appointment = new Appointment();
+                appointment.setDoctor(doctor);
+                appointment.setPatient(patient);
+                appointment.setAppointmentDate(dto.getAppointmentDate());
+                appointment.setAppointmentTime(dto.getAppointmentTime());
+                appointment.setStatus(AppointmentStatus.SCHEDULED);
+                toInsert.add(appointment);
+                insertedIndexes.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            // Слот між перевіркою і вставкою міг зайняти паралельний запит. Після помилки
+            // PostgreSQL транзакцію вже не продовжить, тому відкочуємо весь список
+            try {
+                appointmentRepository.saveAll(toInsert);
+                appointmentRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                BookingMetrics.slotConflict(BookingMetrics.Check.CONSTRAINT);
+                throw new IllegalStateException(
+                        "Частину слотів щойно зайняли інші запити. Повторіть запит"
+                );
+            }
+            List<Runnable> occupations = toInsert.stream().map(this::slotOccupation).toList();
+            AfterCommit.run(() -> occupations.forEach(Runnable::run));
+        }
+
+        for (int k = 0; k < toInsert.size(); k++) {
+            int i = insertedIndexes.get(k);
+            results[i] = new BulkItemResultDTO(i, appointmentMapper.toDTO(toInsert.get(k)), null);
+        }
+        return new BulkResultDTO(toInsert.size(), dtos.size() - toInsert.size(), Arrays.asList(results));
     }
 
     // ========== READ ==========
 
-    @Transactional(readOnly = true)
     public AppointmentDTO getAppointmentById(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
+        return getAppointmentSnapshot(id).toDTO();
+    }
+
+    /**
+     * Запис з кешу DTO разом із часом останньої зміни і версією - для умовного GET;
+     * при промаху - один SELECT з JOIN без окремої транзакції
+     */
+    public AppointmentSnapshot getAppointmentSnapshot(Long id) {
+        return appointmentDTOCache.get(id, appointmentRepository::findSnapshotById)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Запис з ID " + id + " не знайдено"
                 ));
-        return convertToDTO(appointment);
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByDoctor(Long doctorId) {
-        return appointmentRepository.findByDoctorId(doctorId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return appointmentRepository.findDTOsByDoctorId(doctorId);
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByPatient(Long patientId) {
-        return appointmentRepository.findByPatientId(patientId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return appointmentRepository.findDTOsByPatientId(patientId);
     }
 
     // ========== UPDATE ==========
 
+    /**
+     * Зміна запису без блокування рядків: конфлікт із паралельною зміною виявляє версія (@Version),
+     * зайнятість нового слоту - індекс слотів і унікальний індекс у БД при flush
+     */
     @Transactional
     public AppointmentDTO updateAppointment(Long id, UpdateAppointmentDTO dto) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Запис з ID " + id + " не знайдено"
                 ));
+        OptimisticVersion.check(Appointment.class, id, dto.getVersion(), appointment.getVersion());
+        Runnable releaseOldSlot = slotRelease(appointment);
+        boolean occupiedSlot = appointment.getStatus().occupiesSlot();
+        LocalDate oldDate = appointment.getAppointmentDate();
+        LocalTime oldTime = appointment.getAppointmentTime();
 
-        if (dto.getAppointmentDate() != null) {
-            appointment.setAppointmentDate(dto.getAppointmentDate());
-        }
-
-        if (dto.getAppointmentTime() != null) {
-            appointment.setAppointmentTime(dto.getAppointmentTime());
-        }
+        LocalDate newDate = dto.getAppointmentDate() != null ? dto.getAppointmentDate() : oldDate;
+        LocalTime newTime = dto.getAppointmentTime() != null ? dto.getAppointmentTime() : oldTime;
+        AppointmentStatus newStatus = dto.getStatus() != null ? dto.getStatus() : appointment.getStatus();
 
-        if (dto.getStatus() != null) {
-            appointment.setStatus(dto.getStatus());
+        // Запис займає слот, якого раніше не займав (перенесення чи відновлення скасованого).
+        // Перевірка - до змін сутності: інакше запит confirmOccupied спершу виконав би flush запису
+        boolean takesNewSlot = newStatus.occupiesSlot()
+                && (!occupiedSlot || !newDate.equals(oldDate) || !newTime.equals(oldTime));
+        if (takesNewSlot && slotOccupancyIndex.confirmOccupied(appointment.getDoctor().getId(), newDate, newTime)) {
+            BookingMetrics.slotConflict(BookingMetrics.Check.INDEX);
+            throw new IllegalArgumentException(
+                    "Цей час вже зайнятий. Оберіть інший час."
+            );
         }
 
+        appointment.setAppointmentDate(newDate);
+        appointment.setAppointmentTime(newTime);
+        appointment.setStatus(newStatus);
         appointment.setUpdatedAt(LocalDateTime.now());
         Appointment updated = appointmentRepository.save(appointment);
-        return convertToDTO(updated);
+        // flush тут, а не при коміті: конфлікт версії чи слоту перетворюється на помилку API,
+        // а повернута версія вже збільшена
+        try {
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw BookingViolation.translate(appointment.getDoctor().getId(), appointment.getPatient().getId(), e);
+        }
+        Runnable occupyNewSlot = slotOccupation(updated);
+        AfterCommit.run(() -> {
+            releaseOldSlot.run();
+            occupyNewSlot.run();
+        });
+        appointmentDTOCache.invalidate(id);
+        return appointmentMapper.toDTO(updated);
     }
 
     // ========== DELETE / CANCEL ==========
@@ -132,35 +283,80 @@ public class AppointmentService {
                         "Запис з ID " + id + " не знайдено"
                 ));
 
+        Runnable releaseSlot = slotRelease(appointment);
         appointment.setStatus(AppointmentStatus.CANCELLED);
         appointment.setUpdatedAt(LocalDateTime.now());
         appointmentRepository.save(appointment);
+        AfterCommit.run(releaseSlot);
+        appointmentDTOCache.invalidate(id);
     }
 
     /**
      * Видалення запису
      */
+    @Transactional
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Appointment не знайдено з ID: " + id);
-        }
-        appointmentRepository.deleteById(id);
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Appointment не знайдено з ID: " + id));
+        Runnable releaseSlot = slotRelease(appointment);
+        appointmentRepository.delete(appointment);
+        AfterCommit.run(releaseSlot);
+        appointmentDTOCache.invalidate(id);
     }
 
     // ========== ДОПОМІЖНІ МЕТОДИ ==========
 
-    private AppointmentDTO convertToDTO(Appointment appointment) {
-        AppointmentDTO dto = new AppointmentDTO();
-        dto.setId(appointment.getId());
-        dto.setDoctorId(appointment.getDoctor().getId());
-        dto.setDoctorName(appointment.getDoctor().getDoctorName());
-        dto.setPatientId(appointment.getPatient().getId());
-        dto.setPatientName(appointment.getPatient().getPatientName());
-        dto.setAppointmentDate(appointment.getAppointmentDate());
-        dto.setAppointmentTime(appointment.getAppointmentTime());
-        dto.setStatus(appointment.getStatus());
-        dto.setCreatedAt(appointment.getCreatedAt());
-        dto.setUpdatedAt(appointment.getUpdatedAt());
-        return dto;
+    /**
+     * Помилки Bean Validation одного елемента масового запиту одним рядком, або null якщо їх немає
+     */
+    private String validationError(CreateAppointmentDTO dto) {
+        if (dto == null) {
+            return "Елемент списку порожній";
+        }
+        Set<ConstraintViolation<CreateAppointmentDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record SlotKey(Long doctorId, LocalDate date, LocalTime time) {
+    }
+
+    /**
+     * Звільнення слоту, який запис займає зараз (знімок до змін сутності)
+     */
+    private Runnable slotRelease(Appointment appointment) {
+        if (!appointment.getStatus().occupiesSlot()) {
+            return () -> { };
+        }
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDate date = appointment.getAppointmentDate();
+        LocalTime time = appointment.getAppointmentTime();
+        return () -> slotOccupancyIndex.release(doctorId, date, time);
+    }
+
+    /**
+     * Заняття слоту, який запис займає зараз (знімок після змін сутності)
+     */
+    private Runnable slotOccupation(Appointment appointment) {
+        if (!appointment.getStatus().occupiesSlot()) {
+            return () -> { };
+        }
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDate date = appointment.getAppointmentDate();
+        LocalTime time = appointment.getAppointmentTime();
+        return () -> slotOccupancyIndex.occupy(doctorId, date, time);
     }
 }
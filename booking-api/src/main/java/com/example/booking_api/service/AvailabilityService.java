@@ -0,0 +1,139 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.DayAvailabilityDTO;
+import com.example.booking_api.dto.response.FreeSlotDTO;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.repository.DoctorRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Пошук вільних слотів. Рахується з масок SlotOccupancyIndex побітовими операціями
+ * над словами, без ітерації по записах і без запитів до таблиці appointments.
+ * Відповідь - підказка, а не гарантія: записи інших інстансів індекс бачить лише після
+ * перечитування з БД (booking.slot-index.refresh-interval), остаточно слот перевіряє бронювання
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    public static final int DEFAULT_RANGE_DAYS = 7;
+    public static final int MAX_RANGE_DAYS = 31;
+
+    private final DoctorRepository doctorRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+
+    // ========== READ ==========
+
+    @Transactional(readOnly = true)
+    public List<DayAvailabilityDTO> getDoctorAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException(
+                    "Лікаря з ID " + doctorId + " не знайдено"
+            );
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate start = startOf(from, now);
+        LocalDate end = endOf(start, to);
+
+        List<DayAvailabilityDTO> days = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            long[] free = freeMask(doctorId, date, now);
+            days.add(new DayAvailabilityDTO(date, SlotOccupancyIndex.slotTimes(free)));
+        }
+        return days;
+    }
+
+    /**
+     * Найраніший вільний слот серед усіх лікарів спеціалізації
+     */
+    @Transactional(readOnly = true)
+    public FreeSlotDTO findEarliestFreeSlot(String specialization, LocalDate from, LocalDate to) {
+        List<Doctor> doctors = doctorRepository.findBySpecialization(specialization);
+        if (doctors.isEmpty()) {
+            throw new EntityNotFoundException(
+                    "Лікарів зі спеціалізацією " + specialization + " не знайдено"
+            );
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate start = startOf(from, now);
+        LocalDate end = endOf(start, to);
+
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            Doctor earliestDoctor = null;
+            int earliestSlot = Integer.MAX_VALUE;
+            for (Doctor doctor : doctors) {
+                int slot = SlotOccupancyIndex.firstSlot(freeMask(doctor.getId(), date, now));
+                if (slot >= 0 && slot < earliestSlot) {
+                    earliestSlot = slot;
+                    earliestDoctor = doctor;
+                    if (slot == 0) {
+                        break;
+                    }
+                }
+            }
+            if (earliestDoctor != null) {
+                return new FreeSlotDTO(
+                        earliestDoctor.getId(),
+                        earliestDoctor.getDoctorName(),
+                        date,
+                        SlotOccupancyIndex.slotTime(earliestSlot)
+                );
+            }
+        }
+
+        throw new EntityNotFoundException(
+                "Вільних слотів для спеціалізації " + specialization + " з " + start + " по " + end + " не знайдено"
+        );
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    /**
+     * Маска вільних слотів; для сьогодні минулі слоти відкидаються
+     */
+    private long[] freeMask(Long doctorId, LocalDate date, LocalDateTime now) {
+        long[] free = slotOccupancyIndex.freeMask(doctorId, date);
+        if (date.equals(now.toLocalDate())) {
+            SlotOccupancyIndex.clearBefore(free, firstBookableSlot(now.toLocalTime()));
+        }
+        return free;
+    }
+
+    private static int firstBookableSlot(LocalTime now) {
+        if (now.isBefore(SlotOccupancyIndex.FIRST_SLOT)) {
+            return 0;
+        }
+        long minutes = ChronoUnit.MINUTES.between(SlotOccupancyIndex.FIRST_SLOT, now);
+        return (int) (minutes / SlotOccupancyIndex.SLOT_MINUTES + 1);
+    }
+
+    private static LocalDate startOf(LocalDate from, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        return from == null || from.isBefore(today) ? today : from;
+    }
+
+    private static LocalDate endOf(LocalDate start, LocalDate to) {
+        LocalDate end = to == null ? start.plusDays(DEFAULT_RANGE_DAYS - 1) : to;
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Дата початку повинна бути раніше дати закінчення");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException(
+                    "Діапазон пошуку не може перевищувати " + MAX_RANGE_DAYS + " днів"
+            );
+        }
+        return end;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.booking_api.service;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.Locale;
+
+/**
+ * Метрики застосунку: таймер сервісів і лічильники, за якими видно боротьбу за слоти
+ * та якість вхідних даних.
+ *
+ * Лічильники пишуться в Metrics.globalRegistry: Spring Boot додає до нього свій реєстр
+ * (management.metrics.use-global-registry), а рахувати треба і зі статичного BookingViolation,
+ * і з GlobalExceptionHandler. Поза Spring-контекстом (юніт-тести, JMH) глобальний реєстр
+ * порожній і виклики нічого не роблять
+ */
+public final class BookingMetrics {
+
+    /** Таймер публічних методів сервісів (@Timed на класі), теги class, method, exception */
+    public static final String SERVICE_TIMER = "booking.service";
+
+    /** Відмови "Цей час вже зайнятий", тег check - де саме виявлено зайнятість */
+    public static final String SLOT_CONFLICTS = "booking.slot.conflicts";
+
+    /** Запити чи елементи масового запиту, що не пройшли Bean Validation, тег source */
+    public static final String VALIDATION_FAILURES = "booking.validation.failures";
+
+    /** SQL-запитів на HTTP-запит до контролерів з бюджетом, теги uri, method */
+    public static final String REQUEST_SQL_STATEMENTS = "booking.request.sql.statements";
+
+    /** Сумарний час JDBC на HTTP-запит, теги uri, method */
+    public static final String REQUEST_SQL_TIME = "booking.request.sql.time";
+
+    /** HTTP-запити, що перевищили бюджет SQL-запитів (@SqlStatementBudget), теги uri, method */
+    public static final String REQUEST_SQL_BUDGET_EXCEEDED = "booking.request.sql.budget.exceeded";
+
+    /** Події логу, відкинуті обмеженням частоти (LogRateLimitFilter), тег logger */
+    public static final String LOG_EVENTS_DROPPED = "booking.log.dropped";
+
+    /**
+     * Де виявлено зайнятий слот
+     */
+    public enum Check {
+        /** Збіг в in-memory індексі слотів (SlotOccupancyIndex), підтверджений запитом до БД - до вставки */
+        INDEX,
+        /** Унікальний індекс у БД: паралельний запит встиг раніше - справжня гонка */
+        CONSTRAINT,
+        /** Перевірка масового запиту: слот зайнятий у БД або повторюється в самому списку */
+        BULK;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Звідки прийшов невалідний запит
+     */
+    public enum Source {
+        /** Тіло запиту з @Valid */
+        REQUEST,
+        /** Елемент POST /api/appointments/bulk */
+        BULK_ITEM;
+
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private BookingMetrics() {
+    }
+
+    public static void slotConflict(Check check) {
+        Metrics.counter(SLOT_CONFLICTS, "check", check.tag).increment();
+    }
+
+    public static void validationFailure(Source source) {
+        Metrics.counter(VALIDATION_FAILURES, "source", source.tag).increment();
+    }
+
+    public static void logEventDropped(String logger) {
+        Metrics.counter(LOG_EVENTS_DROPPED, "logger", logger).increment();
+    }
+}
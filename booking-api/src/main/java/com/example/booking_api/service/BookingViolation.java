@@ -0,0 +1,55 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.entity.Appointment;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Перетворення порушень обмежень БД при вставці чи перенесенні запису на помилки API -
+ * спільне для JPA (AppointmentService) і R2DBC (ReactiveAppointmentService, Maven-профіль reactive).
+ * Повторні запити в цій транзакції неможливі (PostgreSQL її вже перервав),
+ * тому причину визначаємо за назвою обмеження, а без неї - за ключем у тексті помилки драйвера.
+ * Інші порушення унікальності (напр. первинного ключа) - не конфлікт слоту, вони йдуть далі як є
+ */
+final class BookingViolation {
+
+    private BookingViolation() {
+    }
+
+    static RuntimeException translate(Long doctorId, Long patientId, DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation) {
+            return translate(doctorId, patientId, e, violation.getConstraintName());
+        }
+        return translate(doctorId, patientId, e, null);
+    }
+
+    /**
+     * constraint - з помилки драйвера, якщо він її повідомляє (null - невідомо)
+     */
+    static RuntimeException translate(Long doctorId, Long patientId, DataIntegrityViolationException e,
+                                      String constraint) {
+        String details = String.valueOf(constraint != null ? constraint : e.getMostSpecificCause().getMessage())
+                .toLowerCase(Locale.ROOT);
+
+        if (details.contains(Appointment.SLOT_CONSTRAINT)) {
+            BookingMetrics.slotConflict(BookingMetrics.Check.CONSTRAINT);
+            return new IllegalArgumentException(
+                    "Цей час вже зайнятий. Оберіть інший час."
+            );
+        }
+        if (constraint != null ? details.contains("doctor") : details.contains("(doctor_id)")) {
+            return new EntityNotFoundException(
+                    "Лікаря з ID " + doctorId + " не знайдено"
+            );
+        }
+        if (constraint != null ? details.contains("patient") : details.contains("(patient_id)")) {
+            return new EntityNotFoundException(
+                    "Пацієнта з ID " + patientId + " не знайдено"
+            );
+        }
+        return e;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.booking_api.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Мінімальний CSV за RFC 4180: поле з комою, лапками чи переносом рядка - у лапках,
+ * лапки всередині подвоюються. Той самий формат розуміє PostgreSQL COPY ... (FORMAT csv),
+ * де порожнє поле без лапок - NULL
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    static StringBuilder appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Потокове читання записів; запис у лапках може займати кілька рядків файлу
+     */
+    static final class RecordReader {
+
+        private final Reader in;
+        private int pending = -2;   // прочитаний наперед символ; -2 - немає
+        private long line = 1;      // поточний рядок файлу
+        private long recordLine;    // рядок, з якого почався останній запис
+
+        RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Наступний запис або null в кінці файлу. Порожні рядки пропускаються
+         */
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                c = newLine(c);
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Рядок " + recordLine + ": не закриті лапки");
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    if (c != -1) {
+                        pending = newLine(c);
+                    }
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        private int newLine(int c) throws IOException {
+            line++;
+            int next = read();
+            if (c == '\r' && next == '\n') {
+                next = read();
+            }
+            return next;
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return in.read();
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.example.booking_api.service;
 
 import com.example.booking_api.dto.request.CreateDoctorDTO;
 import com.example.booking_api.dto.request.UpdateDoctorDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.DoctorDTO;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.repository.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,9 +20,15 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(BookingMetrics.SERVICE_TIMER)
 public class DoctorService {
 
     private final DoctorRepository doctorRepository;
+    private final SecondLevelCache secondLevelCache;
+    private final AppointmentDTOCache appointmentDTOCache;
+
+    @Value("${booking.search.trigram:true}")
+    private boolean trigramSearch;
 
     // ========== CREATE ==========
 
@@ -53,12 +63,14 @@ public class DoctorService {
         return convertToDTO(doctor);
     }
 
+    /**
+     * Сторінка лікарів після курсора. Пам'ять обмежена розміром сторінки, а не розміром таблиці
+     */
     @Transactional(readOnly = true)
-    public List<DoctorDTO> getAllDoctors() {
-        return doctorRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<DoctorDTO> getDoctorsPage(String cursor, int size) {
+        List<Doctor> rows = doctorRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), KeysetCursor.probe(size));
+        return KeysetCursor.toPage(rows, size, Doctor::getId, this::convertToDTO);
     }
 
     @Transactional(readOnly = true)
@@ -86,6 +98,35 @@ public class DoctorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Пошук лікарів за ім'ям у режимі contains або fuzzy (див. NameSearch)
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorDTO> searchDoctors(String name, String mode, int limit) {
+        if (!NameSearch.isFuzzy(mode)) {
+            return searchDoctorsByName(name);
+        }
+        String query = NameSearch.query(name);
+        String pattern = NameSearch.likePattern(query);
+        int max = NameSearch.limit(limit);
+        List<Doctor> found = trigramSearch
+                ? doctorRepository.searchByTrigram(query, pattern, max)
+                : doctorRepository.searchBySubstring(query, pattern, PageRequest.of(0, max));
+        return found.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Час останньої зміни лікаря для умовного GET (ETag / Last-Modified) - лише одна колонка з БД
+     */
+    public LocalDateTime getDoctorLastModified(Long id) {
+        return doctorRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Лікаря з ID " + id + " не знайдено"
+                ));
+    }
+
     // ========== UPDATE ==========
 
     @Transactional
@@ -94,9 +135,14 @@ public class DoctorService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Лікаря з ID " + id + " не знайдено"
                 ));
+        OptimisticVersion.check(Doctor.class, id, dto.getVersion(), doctor.getVersion());
 
         // Оновлюємо тільки ті поля, що передані
         if (dto.getDoctorName() != null) {
+            // Ім'я входить у закешовані AppointmentDTO
+            if (!dto.getDoctorName().equals(doctor.getDoctorName())) {
+                appointmentDTOCache.invalidateDoctor(id);
+            }
             doctor.setDoctorName(dto.getDoctorName());
         }
 
@@ -121,6 +167,8 @@ public class DoctorService {
 
         doctor.setUpdatedAt(LocalDateTime.now());
         Doctor updated = doctorRepository.save(doctor);
+        doctorRepository.flush();  // конфлікт версії - тут, а повернута версія вже збільшена
+        secondLevelCache.evictDoctor(id);
         return convertToDTO(updated);
     }
 
@@ -143,6 +191,7 @@ public class DoctorService {
         }
 
         doctorRepository.deleteById(id);
+        secondLevelCache.evictDoctor(id);
     }
 
     // ========== ДОПОМІЖНІ МЕТОДИ ==========
@@ -156,6 +205,7 @@ public class DoctorService {
         dto.setPhone(doctor.getPhone());
         dto.setCreatedAt(doctor.getCreatedAt());
         dto.setUpdatedAt(doctor.getUpdatedAt());
+        dto.setVersion(doctor.getVersion());
         return dto;
     }
 }
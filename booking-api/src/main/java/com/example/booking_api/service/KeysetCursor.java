@@ -0,0 +1,82 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset-пагінація за id: курсор - це закодований id останнього елемента сторінки.
+ * Для клієнта курсор непрозорий (base64url), тому формат можна змінити без зміни API
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Розкодувати курсор у id, після якого починається сторінка (null - з початку)
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Невірний курсор пагінації");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException теж є IllegalArgumentException
+            throw new IllegalArgumentException("Невірний курсор пагінації");
+        }
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Запит на size + 1 рядок: зайвий рядок показує, чи є наступна сторінка, без COUNT(*)
+     */
+    public static Pageable probe(int size) {
+        return PageRequest.of(0, checkSize(size) + 1);
+    }
+
+    /**
+     * Обрізати результат probe-запиту до розміру сторінки і сформувати курсор
+     */
+    public static <E, D> CursorPage<D> toPage(List<E> rows, int size,
+                                             Function<E, Long> idExtractor,
+                                             Function<E, D> mapper) {
+        int pageSize = checkSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<D> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext
+                ? encode(idExtractor.apply(pageRows.get(pageRows.size() - 1)))
+                : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static int checkSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Розмір сторінки повинен бути більше 0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.entity.SearchName;
+
+/**
+ * Параметри пошуку лікарів і пацієнтів за ім'ям: режим, нормалізований запит, LIKE-шаблон і ліміт.
+ * contains - підрядок без урахування регістру (усі збіги),
+ * fuzzy - нечіткий пошук за search_name (див. SearchName) з ранжуванням за схожістю і лімітом.
+ *
+ * fuzzy у PostgreSQL (searchByTrigram репозиторіїв) - pg_trgm: підрядок, схожість слова
+ * (<%, стійка до одруківок) або схожість усього імені (%, не залежить від порядку слів),
+ * найсхожіші першими; усі три умови обслуговує GIN-індекс триграм по search_name.
+ * Без pg_trgm (booking.search.trigram: false, H2 у тестах) fuzzy зводиться до підрядка
+ * (searchBySubstring): вищі ті імена, де він ближче до початку
+ */
+public final class NameSearch {
+
+    public static final String MODE_CONTAINS = "contains";
+    public static final String MODE_FUZZY = "fuzzy";
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final char LIKE_ESCAPE = '!';
+
+    private NameSearch() {
+    }
+
+    public static boolean isFuzzy(String mode) {
+        if (mode == null || mode.isBlank() || MODE_CONTAINS.equalsIgnoreCase(mode)) {
+            return false;
+        }
+        if (MODE_FUZZY.equalsIgnoreCase(mode)) {
+            return true;
+        }
+        throw new IllegalArgumentException(
+                "Невідомий режим пошуку: " + mode + ". Допустимі: " + MODE_CONTAINS + ", " + MODE_FUZZY
+        );
+    }
+
+    /**
+     * Запит, нормалізований так само, як збережений search_name
+     */
+    public static String query(String name) {
+        String query = SearchName.normalize(name);
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("Пошуковий запит порожній");
+        }
+        return query;
+    }
+
+    /**
+     * LIKE-шаблон підрядка; % і _ із запиту екрануються, щоб шукались буквально
+     */
+    public static String likePattern(String query) {
+        StringBuilder pattern = new StringBuilder(query.length() + 2).append('%');
+        for (char c : query.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    public static int limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Ліміт результатів повинен бути більше 0");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
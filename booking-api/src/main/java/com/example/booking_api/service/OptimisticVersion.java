@@ -0,0 +1,20 @@
+package com.example.booking_api.service;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Перевірка версії, яку клієнт передав у Update*DTO. Hibernate порівнює версію лише між
+ * читанням і записом у межах транзакції; зміну, зроблену після того, як клієнт отримав DTO,
+ * видно тільки з переданої ним версії. Помилка - та сама, що й при конфлікті під час flush (409)
+ */
+final class OptimisticVersion {
+
+    private OptimisticVersion() {
+    }
+
+    static void check(Class<?> entityClass, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.request.CreatePatientDTO;
+import com.example.booking_api.dto.response.ImportRejectionDTO;
+import com.example.booking_api.dto.response.PatientImportResultDTO;
+import com.example.booking_api.dto.validation.PhoneNumberValidator;
+import com.example.booking_api.entity.SearchName;
+import com.example.booking_api.repository.PatientContact;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Масовий імпорт пацієнтів з CSV.
+ *
+ * Файл читається потоком: кожен рядок перевіряється тими ж правилами, що й CreatePatientDTO,
+ * і валідні рядки пишуться в тимчасову таблицю patient_import (у PostgreSQL - через COPY,
+ * в інших БД - JDBC batch). Дублікати email і телефону - з наявними пацієнтами і всередині файлу -
+ * відсіюються кількома запитами над усією таблицею, а не двома SELECT на рядок, як у createPatient.
+ * Решта одним INSERT ... SELECT переходить у patients з id з patients_seq.
+ * Усе в одній транзакції: тимчасові таблиці зникають після коміту
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PatientImportService {
+
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    /** = allocationSize patients_seq у Patient: значення послідовності v - це блок id [v - 49, v] */
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String STAGING_DDL = "CREATE LOCAL TEMPORARY TABLE patient_import (" +
+            "line_no BIGINT NOT NULL, patient_name VARCHAR(255) NOT NULL, search_name VARCHAR(255), " +
+            "phone_number VARCHAR(50), email VARCHAR(255)) ON COMMIT DROP";
+
+    private static final String ID_BLOCKS_DDL = "CREATE LOCAL TEMPORARY TABLE patient_import_ids (" +
+            "block_no BIGINT NOT NULL, hi BIGINT NOT NULL) ON COMMIT DROP";
+
+    private static final String EXISTING_EMAILS = "SELECT i.line_no, i.email FROM patient_import i " +
+            "WHERE EXISTS (SELECT 1 FROM patients p WHERE p.email = i.email)";
+
+    private static final String EXISTING_PHONES = "SELECT i.line_no, i.phone_number FROM patient_import i " +
+            "WHERE EXISTS (SELECT 1 FROM patients p WHERE p.phone_number = i.phone_number)";
+
+    /** Повтори всередині файлу: лишається перший рядок, решта відхиляються з посиланням на нього */
+    private static final String REPEATED_EMAILS = "SELECT line_no, email, first_line FROM (" +
+            "SELECT line_no, email, row_number() OVER (PARTITION BY email ORDER BY line_no) AS rn, " +
+            "min(line_no) OVER (PARTITION BY email) AS first_line " +
+            "FROM patient_import WHERE email IS NOT NULL) d WHERE rn > 1";
+
+    private static final String REPEATED_PHONES = "SELECT line_no, phone_number, first_line FROM (" +
+            "SELECT line_no, phone_number, row_number() OVER (PARTITION BY phone_number ORDER BY line_no) AS rn, " +
+            "min(line_no) OVER (PARTITION BY phone_number) AS first_line " +
+            "FROM patient_import WHERE phone_number IS NOT NULL) d WHERE rn > 1";
+
+    /** Рядки, що лишилися, з id: r-й рядок за line_no займає позицію r % 50 у блоці r / 50 */
+    private static final String NUMBERED_ROWS = "SELECT b.hi - " + (ID_BLOCK_SIZE - 1) + " + MOD(n.r, " + ID_BLOCK_SIZE + ") AS id, " +
+            "n.patient_name, n.search_name, n.phone_number, n.email " +
+            "FROM (SELECT i.*, row_number() OVER (ORDER BY i.line_no) - 1 AS r FROM patient_import i) n " +
+            "JOIN patient_import_ids b ON b.block_no = n.r / " + ID_BLOCK_SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final PatientSearchIndex patientSearchIndex;
+    private final SecondLevelCache secondLevelCache;
+
+    // ========== IMPORT ==========
+
+    /**
+     * Імпорт CSV з заголовком; колонки за назвами полів CreatePatientDTO
+     * (patientName обов'язкова, phoneNumber і email - ні), порядок довільний
+     */
+    @Transactional
+    public PatientImportResultDTO importPatients(InputStream csv) {
+        long started = System.nanoTime();
+        PatientImportResultDTO result = jdbcTemplate.execute((ConnectionCallback<PatientImportResultDTO>) con -> {
+            try (Statement statement = con.createStatement()) {
+                statement.execute(STAGING_DDL);
+                statement.execute(ID_BLOCKS_DDL);
+            }
+
+            Rejections rejections = new Rejections();
+            boolean postgres = con.isWrapperFor(PGConnection.class);
+            long total = load(csv, postgres ? new CopyStaging(con) : new BatchStaging(con), rejections);
+            if (postgres) {
+                try (Statement statement = con.createStatement()) {
+                    statement.execute("ANALYZE patient_import");  // статистики тимчасових таблиць autovacuum не збирає
+                }
+            }
+
+            reject(con, EXISTING_EMAILS, rs -> "Пацієнт з email " + rs.getString(2) + " вже існує", rejections);
+            reject(con, EXISTING_PHONES, rs -> "Пацієнт з номером телефону " + rs.getString(2) + " вже існує", rejections);
+            reject(con, REPEATED_EMAILS, rs -> "Email " + rs.getString(2)
+                    + " вже є у файлі в рядку " + rs.getLong(3), rejections);
+            reject(con, REPEATED_PHONES, rs -> "Номер телефону " + rs.getString(2)
+                    + " вже є у файлі в рядку " + rs.getLong(3), rejections);
+
+            long imported = insertPatients(con, total - rejections.count());
+            return new PatientImportResultDTO(total, imported, rejections.count(), rejections.sorted());
+        });
+
+        if (result.getImported() > 0) {
+            secondLevelCache.evictPatientLookups();  // закешовані "не знайдено" для нових email і телефонів
+        }
+        log.info("Імпорт пацієнтів: {} рядків, імпортовано {}, відхилено {} за {} мс",
+                result.getTotal(), result.getImported(), result.getRejected(), (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    /**
+     * Читання, валідація і запис у patient_import; повертає кількість записів у файлі
+     */
+    private long load(InputStream csv, Staging staging, Rejections rejections) throws SQLException {
+        Csv.RecordReader reader = new Csv.RecordReader(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE));
+        long total = 0;
+        try {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("Файл порожній");
+            }
+            int nameColumn = column(header, "patientName");
+            if (nameColumn < 0) {
+                throw new IllegalArgumentException("У заголовку немає колонки patientName");
+            }
+            int phoneColumn = column(header, "phoneNumber");
+            int emailColumn = column(header, "email");
+
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                total++;
+                long line = reader.recordLine();
+                if (record.size() != header.size()) {
+                    rejections.add(line, "Очікується полів: " + header.size() + ", у рядку: " + record.size());
+                    continue;
+                }
+                CreatePatientDTO dto = new CreatePatientDTO(
+                        field(record, nameColumn), field(record, phoneColumn), field(record, emailColumn));
+                String error = validationError(dto);
+                if (error != null) {
+                    rejections.add(line, error);
+                    continue;
+                }
+                staging.add(line, dto.getPatientName(), SearchName.normalize(dto.getPatientName()),
+                        PhoneNumberValidator.normalize(dto.getPhoneNumber()), dto.getEmail());
+            }
+            staging.finish();
+        } catch (IOException e) {
+            staging.abort();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | SQLException e) {
+            staging.abort();
+            throw e;
+        }
+        return total;
+    }
+
+    private void reject(Connection con, String rejectedRows, RowReason reason, Rejections rejections) throws SQLException {
+        try (Statement statement = con.createStatement()) {
+            statement.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(rejectedRows)) {
+                while (rs.next()) {
+                    rejections.add(rs.getLong(1), reason.of(rs));
+                }
+            }
+            statement.executeUpdate("DELETE FROM patient_import WHERE line_no IN (SELECT line_no FROM (" + rejectedRows + ") r)");
+        }
+    }
+
+    /**
+     * Бере з patients_seq стільки блоків id, скільки потрібно на rows рядків, і вставляє їх одним запитом
+     */
+    private long insertPatients(Connection con, long rows) throws SQLException {
+        if (rows == 0) {
+            return 0;
+        }
+        long blocks = (rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        long allocated = 0;
+        try (PreparedStatement nextValues = con.prepareStatement("SELECT nextval('patients_seq') FROM generate_series(1, ?)");
+             PreparedStatement insertBlock = con.prepareStatement("INSERT INTO patient_import_ids (block_no, hi) VALUES (?, ?)")) {
+            while (allocated < blocks) {
+                nextValues.setLong(1, blocks - allocated);
+                try (ResultSet rs = nextValues.executeQuery()) {
+                    while (rs.next()) {
+                        long hi = rs.getLong(1);
+                        // Менше 50 буває лише перше значення нової послідовності: Hibernate тоді видає тільки id = hi
+                        if (hi < ID_BLOCK_SIZE) {
+                            continue;
+                        }
+                        insertBlock.setLong(1, allocated++);
+                        insertBlock.setLong(2, hi);
+                        insertBlock.addBatch();
+                    }
+                }
+            }
+            insertBlock.executeBatch();
+        }
+
+        List<ImportedContact> indexed = patientSearchIndex.isEnabled() ? importedContacts(con) : List.of();
+        long imported;
+        try (PreparedStatement insert = con.prepareStatement(
+                "INSERT INTO patients (id, patient_name, search_name, phone_number, email, created_at, version) " +
+                        "SELECT id, patient_name, search_name, phone_number, email, CAST(? AS TIMESTAMP), 0 FROM (" + NUMBERED_ROWS + ") r")) {
+            insert.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            imported = insert.executeUpdate();
+        }
+        AfterCommit.run(() -> patientSearchIndex.putAll(indexed));
+        return imported;
+    }
+
+    /**
+     * Id і контакти рядків, що буде вставлено, - для індексу typeahead
+     */
+    private static List<ImportedContact> importedContacts(Connection con) throws SQLException {
+        List<ImportedContact> rows = new ArrayList<>();
+        try (Statement statement = con.createStatement()) {
+            statement.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT id, patient_name, phone_number, email FROM (" + NUMBERED_ROWS + ") r")) {
+                while (rs.next()) {
+                    rows.add(new ImportedContact(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private String validationError(CreatePatientDTO dto) {
+        Set<ConstraintViolation<CreatePatientDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            // Excel додає BOM на початок UTF-8 файлу
+            String column = header.get(i).replace("\uFEFF", "").trim();
+            if (column.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = record.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ImportedContact(Long id, String patientName, String phoneNumber, String email)
+            implements PatientContact {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getPatientName() {
+            return patientName;
+        }
+
+        @Override
+        public String getPhoneNumber() {
+            return phoneNumber;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReason {
+        String of(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Лічильник відхилених рядків; для відповіді зберігаються лише MAX_REPORTED_REJECTIONS з найменшими номерами
+     */
+    private static final class Rejections {
+
+        private final PriorityQueue<ImportRejectionDTO> reported =
+                new PriorityQueue<>(Comparator.comparingLong(ImportRejectionDTO::getLine).reversed());
+        private long count;
+
+        void add(long line, String reason) {
+            count++;
+            if (reported.size() < MAX_REPORTED_REJECTIONS) {
+                reported.add(new ImportRejectionDTO(line, reason));
+            } else if (line < reported.peek().getLine()) {
+                reported.poll();
+                reported.add(new ImportRejectionDTO(line, reason));
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<ImportRejectionDTO> sorted() {
+            List<ImportRejectionDTO> list = new ArrayList<>(reported);
+            list.sort(Comparator.comparingLong(ImportRejectionDTO::getLine));
+            return list;
+        }
+    }
+
+    // ========== ЗАПИС У patient_import ==========
+
+    private interface Staging {
+
+        void add(long line, String patientName, String searchName, String phoneNumber, String email)
+                throws SQLException, IOException;
+
+        void finish() throws SQLException, IOException;
+
+        void abort() throws SQLException;
+    }
+
+    /**
+     * PostgreSQL: рядки CSV одним потоком COPY FROM STDIN
+     */
+    private static final class CopyStaging implements Staging {
+
+        private final PGCopyOutputStream copy;
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CopyStaging(Connection con) throws SQLException {
+            copy = new PGCopyOutputStream(con.unwrap(PGConnection.class),
+                    "COPY patient_import (line_no, patient_name, search_name, phone_number, email) FROM STDIN (FORMAT csv)",
+                    BUFFER_SIZE);
+            out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public void add(long lineNo, String patientName, String searchName, String phoneNumber, String email)
+                throws IOException {
+            line.setLength(0);
+            line.append(lineNo).append(',');
+            Csv.appendField(line, patientName).append(',');
+            Csv.appendField(line, searchName).append(',');
+            Csv.appendField(line, phoneNumber).append(',');
+            Csv.appendField(line, email).append('\n');
+            out.append(line);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.close();  // endCopy
+        }
+
+        @Override
+        public void abort() throws SQLException {
+            // Незавершений COPY блокує з'єднання: без cancelCopy не пройде навіть ROLLBACK
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Інші БД (H2 у тестах): JDBC batch по BATCH_SIZE рядків
+     */
+    private static final class BatchStaging implements Staging {
+
+        private final PreparedStatement insert;
+        private int pending;
+
+        BatchStaging(Connection con) throws SQLException {
+            insert = con.prepareStatement("INSERT INTO patient_import " +
+                    "(line_no, patient_name, search_name, phone_number, email) VALUES (?, ?, ?, ?, ?)");
+        }
+
+        @Override
+        public void add(long line, String patientName, String searchName, String phoneNumber, String email)
+                throws SQLException {
+            insert.setLong(1, line);
+            insert.setString(2, patientName);
+            insert.setString(3, searchName);
+            insert.setString(4, phoneNumber);
+            insert.setString(5, email);
+            insert.addBatch();
+            if (++pending == BATCH_SIZE) {
+                insert.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void finish() throws SQLException {
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+            insert.close();
+        }
+
+        @Override
+        public void abort() throws SQLException {
+            insert.close();
+        }
+    }
+}
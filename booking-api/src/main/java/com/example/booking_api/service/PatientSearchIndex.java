@@ -0,0 +1,336 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.PatientSuggestionDTO;
+import com.example.booking_api.entity.SearchName;
+import com.example.booking_api.repository.PatientContact;
+import com.example.booking_api.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory префіксний індекс пацієнтів для typeahead (booking.search.patient-index.enabled).
+ *
+ * Ключі - слова нормалізованого імені (SearchName), повне ім'я, email цілком і цифри телефону
+ * (повні та без коду країни 38). Кожен ключ веде на відсортований long[] id пацієнтів,
+ * який після публікації не змінюється (copy-on-write), тому пошук не потребує блокувань:
+ * префікс шукається в ConcurrentSkipListMap за O(log n) плюс перегляд збігів.
+ * Стан актуальний у межах одного інстансу - зміни з інших інстансів сюди не потрапляють.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PatientSearchIndex implements SmartInitializingSingleton {
+
+    /** Скільки id максимум переглядаємо на запит, коли слова запиту відсіюють кандидатів */
+    static final int MAX_SCANNED_IDS = 10_000;
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final PatientRepository patientRepository;
+
+    @Value("${booking.search.patient-index.enabled:false}")
+    private boolean enabled;
+
+    private final NavigableMap<String, long[]> keys = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Побудова до старту веб-сервера: пацієнти читаються keyset-сторінками лише з потрібними колонками
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0L;
+        List<PatientContact> page;
+        do {
+            page = patientRepository.findContactsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            putAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Індекс пошуку пацієнтів побудовано: {} пацієнтів, {} ключів", entries.size(), keys.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Додати пацієнта або замінити його попередні ключі новими
+     */
+    public synchronized void put(Long id, String patientName, String phoneNumber, String email) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = replaceEntry(id, patientName, phoneNumber, email);
+        for (String key : entry.keys()) {
+            keys.compute(key, (k, ids) -> with(ids, id));
+        }
+    }
+
+    /**
+     * Те саме, що put для кожного, але масив id кожного ключа копіюється один раз на пакет, а не
+     * на кожного пацієнта: для тисяч пацієнтів зі спільними словами імені це O(n), а не O(n^2)
+     */
+    public synchronized void putAll(Collection<? extends PatientContact> contacts) {
+        if (!enabled || contacts.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> added = new HashMap<>();
+        for (PatientContact contact : contacts) {
+            Entry entry = replaceEntry(contact.getId(), contact.getPatientName(), contact.getPhoneNumber(), contact.getEmail());
+            for (String key : entry.keys()) {
+                added.computeIfAbsent(key, k -> new ArrayList<>()).add(contact.getId());
+            }
+        }
+        added.forEach((key, ids) -> {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            keys.compute(key, (k, existing) -> union(existing, sorted));
+        });
+    }
+
+    public synchronized void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                keys.computeIfPresent(key, (k, ids) -> without(ids, id));
+            }
+        }
+    }
+
+    /**
+     * До limit пацієнтів, у яких кожне слово запиту є префіксом імені, email чи телефону.
+     * Першими йдуть точні й коротші збіги (порядок ключів), далі - за id
+     */
+    public List<PatientSuggestionDTO> suggest(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0) {
+            throw new IllegalArgumentException("Пошуковий запит порожній");
+        }
+        // Перебираємо збіги найдовшого слова - їх найменше, решту слів перевіряємо по ключах пацієнта
+        String lead = terms[0];
+        for (String term : terms) {
+            if (term.length() > lead.length()) {
+                lead = term;
+            }
+        }
+
+        Set<Long> matched = new LinkedHashSet<>();
+        int scanned = 0;
+        scan:
+        for (Map.Entry<String, long[]> candidate : keys.tailMap(lead, true).entrySet()) {
+            if (!candidate.getKey().startsWith(lead)) {
+                break;
+            }
+            for (long id : candidate.getValue()) {
+                if (++scanned > MAX_SCANNED_IDS) {
+                    break scan;
+                }
+                Entry entry = entries.get(id);
+                if (entry != null && entry.matchesAll(terms) && matched.add(id) && matched.size() == limit) {
+                    break scan;
+                }
+            }
+        }
+
+        List<PatientSuggestionDTO> result = new ArrayList<>(matched.size());
+        for (Long id : matched) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                result.add(new PatientSuggestionDTO(entry.id(), entry.patientName(), entry.phoneNumber(), entry.email()));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    /**
+     * Слова запиту: номер телефону (лише цифри, якщо інших символів крім +()- і пробілів немає)
+     * або слова, розділені пробілами. Слово з @ - email і лишається цілим, як і його ключ;
+     * решта нормалізується і ділиться ще й по дефісах, як ім'я
+     */
+    static String[] terms(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        String trimmed = query.strip();
+        if (!trimmed.isEmpty() && trimmed.chars().allMatch(c -> Character.isDigit(c) || "+()- ".indexOf(c) >= 0)) {
+            String digits = trimmed.replaceAll("\\D", "");
+            return digits.isEmpty() ? new String[0] : new String[]{digits};
+        }
+        List<String> result = new ArrayList<>();
+        for (String token : trimmed.split("\\s+")) {
+            if (token.indexOf('@') >= 0) {
+                result.add(emailKey(token));
+                continue;
+            }
+            for (String word : SearchName.normalize(token).split("[ -]+")) {
+                if (!word.isEmpty()) {
+                    result.add(word);
+                }
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    static String[] keysOf(String patientName, String phoneNumber, String email) {
+        Set<String> result = new LinkedHashSet<>();
+        String name = SearchName.normalize(patientName);
+        if (name != null && !name.isEmpty()) {
+            result.add(name);
+            for (String word : name.split("[ -]+")) {
+                if (!word.isEmpty()) {
+                    result.add(word);
+                }
+            }
+        }
+        if (phoneNumber != null) {
+            String digits = phoneNumber.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                result.add(digits);
+                if (digits.length() == 12 && digits.startsWith("38")) {
+                    result.add(digits.substring(2));
+                }
+            }
+        }
+        if (email != null && !email.isBlank()) {
+            result.add(emailKey(email));
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static String emailKey(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Новий Entry пацієнта; ключі попереднього, яких більше немає, прибираються з індексу
+     */
+    private Entry replaceEntry(Long id, String patientName, String phoneNumber, String email) {
+        Entry entry = new Entry(id, patientName, phoneNumber, email, keysOf(patientName, phoneNumber, email));
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                if (!entry.hasKey(key)) {
+                    keys.computeIfPresent(key, (k, ids) -> without(ids, id));
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Об'єднання двох відсортованих масивів id без повторів
+     */
+    private static long[] union(long[] ids, long[] added) {
+        if (ids == null) {
+            return added;
+        }
+        long[] result = new long[ids.length + added.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < ids.length || j < added.length) {
+            long next;
+            if (j == added.length || (i < ids.length && ids[i] <= added[j])) {
+                next = ids[i++];
+                if (j < added.length && added[j] == next) {
+                    j++;
+                }
+            } else {
+                next = added[j++];
+            }
+            result[n++] = next;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static long[] with(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertAt = -position - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        return copy;
+    }
+
+    /**
+     * Масив без id; null (видалення ключа), якщо id був останнім
+     */
+    private static long[] without(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, position);
+        System.arraycopy(ids, position + 1, copy, position, ids.length - position - 1);
+        return copy;
+    }
+
+    private record Entry(Long id, String patientName, String phoneNumber, String email, String[] keys) {
+
+        boolean hasKey(String key) {
+            for (String own : keys) {
+                if (own.equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matchesAll(String[] terms) {
+            for (String term : terms) {
+                boolean found = false;
+                for (String own : keys) {
+                    if (own.startsWith(term)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,27 +2,43 @@ package com.example.booking_api.service;
 
 import com.example.booking_api.dto.request.CreatePatientDTO;
 import com.example.booking_api.dto.request.UpdatePatientDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.PatientDTO;
+import com.example.booking_api.dto.response.PatientSuggestionDTO;
+import com.example.booking_api.dto.validation.PhoneNumberValidator;
 import com.example.booking_api.entity.Patient;
 import com.example.booking_api.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(BookingMetrics.SERVICE_TIMER)
 public class PatientService {
 
     private final PatientRepository patientRepository;
+    private final PatientSearchIndex patientSearchIndex;
+    private final SecondLevelCache secondLevelCache;
+    private final AppointmentDTOCache appointmentDTOCache;
+
+    @Value("${booking.search.trigram:true}")
+    private boolean trigramSearch;
 
     // ========== CREATE ==========
 
     @Transactional
     public PatientDTO createPatient(CreatePatientDTO dto) {
+        String phoneNumber = PhoneNumberValidator.normalize(dto.getPhoneNumber());
+
         // Перевірка унікальності email
         if (patientRepository.existsByEmail(dto.getEmail())) {
             throw new IllegalArgumentException(
@@ -31,8 +47,8 @@ public class PatientService {
         }
 
         // Перевірка унікальності номера телефону (якщо вказаний)
-        if (dto.getPhoneNumber() != null &&
-                patientRepository.existsByPhoneNumber(dto.getPhoneNumber())) {
+        if (phoneNumber != null &&
+                patientRepository.existsByPhoneNumber(phoneNumber)) {
             throw new IllegalArgumentException(
                     "Пацієнт з номером телефону " + dto.getPhoneNumber() + " вже існує"
             );
@@ -41,10 +57,11 @@ public class PatientService {
         // Створення сутності
         Patient patient = new Patient();
         patient.setPatientName(dto.getPatientName());
-        patient.setPhoneNumber(dto.getPhoneNumber());
+        patient.setPhoneNumber(phoneNumber);
         patient.setEmail(dto.getEmail());
 
         Patient saved = patientRepository.save(patient);
+        indexAfterCommit(saved);
         return convertToDTO(saved);
     }
 
@@ -59,12 +76,14 @@ public class PatientService {
         return convertToDTO(patient);
     }
 
+    /**
+     * Сторінка пацієнтів після курсора. Пам'ять обмежена розміром сторінки, а не розміром таблиці
+     */
     @Transactional(readOnly = true)
-    public List<PatientDTO> getAllPatients() {
-        return patientRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<PatientDTO> getPatientsPage(String cursor, int size) {
+        List<Patient> rows = patientRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), KeysetCursor.probe(size));
+        return KeysetCursor.toPage(rows, size, Patient::getId, this::convertToDTO);
     }
 
     @Transactional(readOnly = true)
@@ -78,7 +97,7 @@ public class PatientService {
 
     @Transactional(readOnly = true)
     public PatientDTO getPatientByPhoneNumber(String phoneNumber) {
-        Patient patient = patientRepository.findByPhoneNumber(phoneNumber)
+        Patient patient = patientRepository.findByPhoneNumber(PhoneNumberValidator.normalize(phoneNumber))
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Пацієнта з номером телефону " + phoneNumber + " не знайдено"
                 ));
@@ -93,6 +112,51 @@ public class PatientService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Пошук пацієнтів за ім'ям у режимі contains або fuzzy (див. NameSearch)
+     */
+    @Transactional(readOnly = true)
+    public List<PatientDTO> searchPatients(String name, String mode, int limit) {
+        if (!NameSearch.isFuzzy(mode)) {
+            return searchPatientsByName(name);
+        }
+        String query = NameSearch.query(name);
+        String pattern = NameSearch.likePattern(query);
+        int max = NameSearch.limit(limit);
+        List<Patient> found = trigramSearch
+                ? patientRepository.searchByTrigram(query, pattern, max)
+                : patientRepository.searchBySubstring(query, pattern, PageRequest.of(0, max));
+        return found.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Підказки typeahead за префіксом імені, телефону чи email. З увімкненим індексом
+     * (booking.search.patient-index.enabled) відповідає з пам'яті, без транзакції і звернення до БД;
+     * інакше - нечіткий пошук за ім'ям у БД
+     */
+    public List<PatientSuggestionDTO> suggestPatients(String query, int limit) {
+        int max = NameSearch.limit(limit);
+        if (patientSearchIndex.isEnabled()) {
+            return patientSearchIndex.suggest(query, max);
+        }
+        return searchPatients(query, NameSearch.MODE_FUZZY, max)
+                .stream()
+                .map(p -> new PatientSuggestionDTO(p.getId(), p.getPatientName(), p.getPhoneNumber(), p.getEmail()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Час останньої зміни пацієнта для умовного GET (ETag / Last-Modified) - лише одна колонка з БД
+     */
+    public LocalDateTime getPatientLastModified(Long id) {
+        return patientRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Пацієнта з ID " + id + " не знайдено"
+                ));
+    }
+
     // ========== UPDATE ==========
 
     @Transactional
@@ -101,9 +165,14 @@ public class PatientService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Пацієнта з ID " + id + " не знайдено"
                 ));
+        OptimisticVersion.check(Patient.class, id, dto.getVersion(), patient.getVersion());
 
         // Оновлюємо тільки ті поля, що передані
         if (dto.getPatientName() != null) {
+            // Ім'я входить у закешовані AppointmentDTO
+            if (!dto.getPatientName().equals(patient.getPatientName())) {
+                appointmentDTOCache.invalidatePatient(id);
+            }
             patient.setPatientName(dto.getPatientName());
         }
 
@@ -119,17 +188,21 @@ public class PatientService {
         }
 
         if (dto.getPhoneNumber() != null) {
+            String phoneNumber = PhoneNumberValidator.normalize(dto.getPhoneNumber());
             // Перевіряємо унікальність нового номера телефону
-            if (!dto.getPhoneNumber().equals(patient.getPhoneNumber()) &&
-                    patientRepository.existsByPhoneNumber(dto.getPhoneNumber())) {
+            if (!phoneNumber.equals(patient.getPhoneNumber()) &&
+                    patientRepository.existsByPhoneNumber(phoneNumber)) {
                 throw new IllegalArgumentException(
                         "Номер телефону " + dto.getPhoneNumber() + " вже використовується"
                 );
             }
-            patient.setPhoneNumber(dto.getPhoneNumber());
+            patient.setPhoneNumber(phoneNumber);
         }
 
         Patient updated = patientRepository.save(patient);
+        patientRepository.flush();  // конфлікт версії - тут, а повернута версія вже збільшена
+        indexAfterCommit(updated);
+        secondLevelCache.evictPatient(id);
         return convertToDTO(updated);
     }
 
@@ -152,10 +225,23 @@ public class PatientService {
         }
 
         patientRepository.deleteById(id);
+        secondLevelCache.evictPatient(id);
+        AfterCommit.run(() -> patientSearchIndex.remove(id));
     }
 
     // ========== ДОПОМІЖНІ МЕТОДИ ==========
 
+    /**
+     * Оновити індекс typeahead після коміту (знімок полів на момент збереження)
+     */
+    private void indexAfterCommit(Patient patient) {
+        Long id = patient.getId();
+        String patientName = patient.getPatientName();
+        String phoneNumber = patient.getPhoneNumber();
+        String email = patient.getEmail();
+        AfterCommit.run(() -> patientSearchIndex.put(id, patientName, phoneNumber, email));
+    }
+
     private PatientDTO convertToDTO(Patient patient) {
         PatientDTO dto = new PatientDTO();
         dto.setId(patient.getId());
@@ -164,6 +250,7 @@ public class PatientService {
         dto.setEmail(patient.getEmail());
         dto.setCreatedAt(patient.getCreatedAt());
         dto.setUpdatedAt(patient.getUpdatedAt());
+        dto.setVersion(patient.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,90 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.CacheRegionStatsDTO;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Явне скидання і статистика Hibernate second-level cache (регіони описані в application.conf).
+ *
+ * READ_WRITE-регіони оновлюються самим Hibernate, коли сутність змінюється через сесію.
+ * Явне скидання після коміту в update/delete сервісів гарантує, що наступне читання піде в БД,
+ * навіть якщо рядок змінили в обхід сесії (bulk-запити, міграції)
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCache {
+
+    public static final String DOCTORS = "doctors";
+    public static final String PATIENTS = "patients";
+    public static final String DOCTOR_LOOKUPS = "doctor-lookups";
+    public static final String PATIENT_LOOKUPS = "patient-lookups";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictDoctor(Long id) {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evict(Doctor.class, id);
+            sessionFactory().getCache().evictQueryRegion(DOCTOR_LOOKUPS);
+        });
+    }
+
+    public void evictPatient(Long id) {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evict(Patient.class, id);
+            sessionFactory().getCache().evictQueryRegion(PATIENT_LOOKUPS);
+        });
+    }
+
+    /**
+     * Пацієнтів додано в обхід сесії (імпорт): закешовані результати findByEmail/findByPhoneNumber
+     * могли запам'ятати "не знайдено"
+     */
+    public void evictPatientLookups() {
+        AfterCommit.run(() -> sessionFactory().getCache().evictQueryRegion(PATIENT_LOOKUPS));
+    }
+
+    /**
+     * Влучання/промахи по регіонах сутностей і запитів (регіон запитів з'являється після першого
+     * запиту). Порожньо, якщо кеш або статистика Hibernate (hibernate.generate_statistics) вимкнені
+     */
+    public List<CacheRegionStatsDTO> getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<CacheRegionStatsDTO> result = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        for (String region : List.of(DOCTORS, PATIENTS)) {
+            addRegion(result, region, statistics.getDomainDataRegionStatistics(region));
+        }
+        for (String region : List.of(DOCTOR_LOOKUPS, PATIENT_LOOKUPS)) {
+            addRegion(result, region, statistics.getQueryRegionStatistics(region));
+        }
+        return result;
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private void addRegion(List<CacheRegionStatsDTO> result, String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return;
+        }
+        long requests = stats.getHitCount() + stats.getMissCount();
+        double hitRatio = requests == 0 ? 0.0 : (double) stats.getHitCount() / requests;
+        result.add(new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(),
+                stats.getPutCount(), hitRatio));
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.repository.AppointmentRepository;
+import com.example.booking_api.repository.BookedSlot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory індекс зайнятості слотів: для кожного лікаря і дня - бітова маска
+ * зі 109 слотів (09:00-18:00 з кроком 5 хвилин, як у AppointmentTimeSlotValidator).
+ *
+ * Маска дня - масив із двох long, який після публікації не змінюється (copy-on-write),
+ * тому читання не потребують блокувань. Джерело істини - унікальний індекс слоту в БД.
+ * Зміни з інших інстансів потрапляють сюди лише при періодичному перечитуванні з БД
+ * (booking.slot-index.refresh-interval), тому збіг в індексі - лише підказка: перед відмовою
+ * день лікаря перечитується з БД (confirmOccupied), а вільний за індексом слот перевіряє сама вставка.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotOccupancyIndex implements SmartInitializingSingleton {
+
+    public static final LocalTime FIRST_SLOT = LocalTime.of(9, 0);
+    public static final LocalTime LAST_SLOT = LocalTime.of(18, 0);
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY =
+            (LAST_SLOT.toSecondOfDay() - FIRST_SLOT.toSecondOfDay()) / (SLOT_MINUTES * 60) + 1;
+
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<Long, Map<LocalDate, long[]>> masks = new ConcurrentHashMap<>();
+
+    /**
+     * Прогрів до старту веб-сервера, щоб перші запити вже бачили повний індекс
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        int slots = reload();
+        log.info("Індекс зайнятості слотів прогріто: {} записів, {} лікарів", slots, masks.size());
+    }
+
+    /**
+     * Перечитування з БД приносить записи, змінені іншими інстансами. Між перечитуваннями
+     * доступність на цьому інстансі може відставати від них на інтервал оновлення
+     */
+    @Scheduled(fixedDelayString = "${booking.slot-index.refresh-interval:PT1M}",
+            initialDelayString = "${booking.slot-index.refresh-interval:PT1M}")
+    public void refresh() {
+        int slots = reload();
+        log.debug("Індекс зайнятості слотів оновлено з БД: {} записів", slots);
+    }
+
+    /**
+     * Замінити маски всіх лікарів станом з БД, починаючи з сьогодні. Повертає кількість записів
+     */
+    int reload() {
+        List<BookedSlot> slots = appointmentRepository.findActiveSlotsFrom(LocalDate.now());
+        Map<Long, Map<LocalDate, long[]>> fresh = new HashMap<>();
+        for (BookedSlot slot : slots) {
+            int index = slotIndex(slot.getAppointmentTime());
+            if (index >= 0) {
+                long[] mask = fresh.computeIfAbsent(slot.getDoctorId(), id -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(slot.getAppointmentDate(), date -> new long[WORDS]);
+                mask[index >>> 6] |= 1L << index;
+            }
+        }
+        // Маски публікуються через compute і після цього не змінюються, як і в occupy
+        Set<Long> doctorIds = new HashSet<>(masks.keySet());
+        doctorIds.addAll(fresh.keySet());
+        for (Long doctorId : doctorIds) {
+            masks.compute(doctorId, (id, days) -> fresh.get(id));
+        }
+        return slots.size();
+    }
+
+    /**
+     * Номер слоту в межах дня або -1, якщо час не лежить на сітці слотів
+     */
+    public static int slotIndex(LocalTime time) {
+        if (time == null || time.getSecond() != 0 || time.getNano() != 0
+                || time.isBefore(FIRST_SLOT) || time.isAfter(LAST_SLOT)) {
+            return -1;
+        }
+        int minutes = (time.toSecondOfDay() - FIRST_SLOT.toSecondOfDay()) / 60;
+        return minutes % SLOT_MINUTES == 0 ? minutes / SLOT_MINUTES : -1;
+    }
+
+    public static LocalTime slotTime(int slot) {
+        return FIRST_SLOT.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /**
+     * Чи зайнятий слот. Для часу поза сіткою відповідь завжди false - таке рішення лишається за БД
+     */
+    public boolean isOccupied(Long doctorId, LocalDate date, LocalTime time) {
+        int slot = slotIndex(time);
+        if (slot < 0) {
+            return false;
+        }
+        long[] mask = mask(doctorId, date);
+        return mask != null && (mask[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Чи зайнятий слот насправді. Без збігу в пам'яті - false без запиту до БД. Зі збігом маска дня
+     * лікаря перечитується з БД: слот міг звільнити інший інстанс, і тоді індекс виправляється,
+     * а бронювання не відхиляється
+     */
+    public boolean confirmOccupied(Long doctorId, LocalDate date, LocalTime time) {
+        if (!isOccupied(doctorId, date, time)) {
+            return false;
+        }
+        reloadDay(doctorId, date);
+        return isOccupied(doctorId, date, time);
+    }
+
+    /**
+     * Вільні слоти лікаря на дату в порядку зростання часу
+     */
+    public List<LocalTime> freeSlots(Long doctorId, LocalDate date) {
+        return slotTimes(freeMask(doctorId, date));
+    }
+
+    /**
+     * Нова маска вільних слотів дня: ~зайняті & сітка. Викликач може змінювати її довільно
+     */
+    public long[] freeMask(Long doctorId, LocalDate date) {
+        long[] occupied = mask(doctorId, date);
+        long[] free = new long[WORDS];
+        for (int word = 0; word < WORDS; word++) {
+            free[word] = ~(occupied == null ? 0L : occupied[word]) & gridMask(word);
+        }
+        return free;
+    }
+
+    /**
+     * Прибрати з маски всі слоти, що раніше за вказаний
+     */
+    public static void clearBefore(long[] bits, int slot) {
+        for (int word = 0; word < bits.length && slot > 0; word++, slot -= 64) {
+            bits[word] &= slot >= 64 ? 0L : -1L << slot;
+        }
+    }
+
+    /**
+     * Перший встановлений біт маски або -1
+     */
+    public static int firstSlot(long[] bits) {
+        for (int word = 0; word < bits.length; word++) {
+            if (bits[word] != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(bits[word]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Час кожного встановленого біта маски в порядку зростання
+     */
+    public static List<LocalTime> slotTimes(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        List<LocalTime> times = new ArrayList<>(count);
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                times.add(slotTime(word * 64 + Long.numberOfTrailingZeros(remaining)));
+                remaining &= remaining - 1;
+            }
+        }
+        return times;
+    }
+
+    public void occupy(Long doctorId, LocalDate date, LocalTime time) {
+        int slot = slotIndex(time);
+        if (slot < 0 || doctorId == null || date == null) {
+            return;
+        }
+        // Зміна дня - під блокуванням лікаря в masks: evictPastDays не прибере мапу днів,
+        // у яку саме додається слот
+        masks.compute(doctorId, (id, days) -> {
+            Map<LocalDate, long[]> target = days != null ? days : new ConcurrentHashMap<>();
+            target.compute(date, (d, current) -> {
+                long[] next = current == null ? new long[WORDS] : current.clone();
+                next[slot >>> 6] |= 1L << slot;
+                return next;
+            });
+            return target;
+        });
+    }
+
+    public void release(Long doctorId, LocalDate date, LocalTime time) {
+        int slot = slotIndex(time);
+        Map<LocalDate, long[]> days = doctorId == null ? null : masks.get(doctorId);
+        if (slot < 0 || days == null || date == null) {
+            return;
+        }
+        days.computeIfPresent(date, (d, current) -> {
+            long[] next = current.clone();
+            next[slot >>> 6] &= ~(1L << slot);
+            return isEmpty(next) ? null : next;
+        });
+    }
+
+    /**
+     * Щоночі прибираємо минулі дні - бронювати їх уже неможливо
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        evictBefore(LocalDate.now());
+    }
+
+    void evictBefore(LocalDate today) {
+        // Лікар прибирається лише тоді, коли його мапа порожня під тим самим блокуванням, що й occupy
+        for (Long doctorId : masks.keySet()) {
+            masks.computeIfPresent(doctorId, (id, days) -> {
+                days.keySet().removeIf(date -> date.isBefore(today));
+                return days.isEmpty() ? null : days;
+            });
+        }
+    }
+
+    /**
+     * Замінити маску дня лікаря станом з БД
+     */
+    void reloadDay(Long doctorId, LocalDate date) {
+        long[] fresh = new long[WORDS];
+        for (BookedSlot slot : appointmentRepository.findActiveSlots(List.of(doctorId), date, date)) {
+            int index = slotIndex(slot.getAppointmentTime());
+            if (index >= 0) {
+                fresh[index >>> 6] |= 1L << index;
+            }
+        }
+        masks.compute(doctorId, (id, days) -> {
+            Map<LocalDate, long[]> target = days != null ? days : new ConcurrentHashMap<>();
+            if (isEmpty(fresh)) {
+                target.remove(date);
+            } else {
+                target.put(date, fresh);
+            }
+            return target.isEmpty() ? null : target;
+        });
+    }
+
+    private long[] mask(Long doctorId, LocalDate date) {
+        Map<LocalDate, long[]> days = masks.get(doctorId);
+        return days == null ? null : days.get(date);
+    }
+
+    /**
+     * Біти, які відповідають реальним слотам у слові (останнє слово заповнене частково)
+     */
+    private static long gridMask(int word) {
+        int bits = Math.min(64, SLOTS_PER_DAY - word * 64);
+        return bits == 64 ? -1L : (1L << bits) - 1;
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
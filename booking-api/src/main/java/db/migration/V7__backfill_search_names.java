@@ -0,0 +1,48 @@
+package db.migration;
+
+import com.example.booking_api.entity.SearchName;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Заповнення search_name для наявних лікарів і пацієнтів нормалізацією застосунку
+ */
+public class V7__backfill_search_names extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        backfill(connection, "doctors", "doctor_name");
+        backfill(connection, "patients", "patient_name");
+    }
+
+    private void backfill(Connection connection, String table, String nameColumn) throws Exception {
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET search_name = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, " + nameColumn + " FROM " + table)) {
+                int pending = 0;
+                while (rows.next()) {
+                    update.setString(1, SearchName.normalize(rows.getString(2)));
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+}
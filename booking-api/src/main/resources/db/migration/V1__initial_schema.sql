@@ -0,0 +1,41 @@
+-- Початкова схема. IF NOT EXISTS - щоб міграція пройшла і на БД, яку раніше
+-- створив ddl-auto: update (такі БД доводять до поточного стану наступні міграції)
+
+CREATE TABLE IF NOT EXISTS doctors (
+    id             BIGINT       NOT NULL,
+    doctor_name    VARCHAR(255) NOT NULL,
+    specialization VARCHAR(255),
+    email          VARCHAR(255),
+    phone          VARCHAR(50),
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT doctors_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_doctors_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS patients (
+    id           BIGINT       NOT NULL,
+    patient_name VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(50),
+    email        VARCHAR(255),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT patients_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id               BIGINT       NOT NULL,
+    doctor_id        BIGINT       NOT NULL,
+    patient_id       BIGINT       NOT NULL,
+    appointment_date DATE         NOT NULL,
+    appointment_time TIME(6)      NOT NULL,
+    status           VARCHAR(50)  NOT NULL,
+    slot_active      BOOLEAN,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT appointments_pkey PRIMARY KEY (id),
+    CONSTRAINT appointments_status_check
+        CHECK (status IN ('SCHEDULED', 'CONFIRMED', 'COMPLETED', 'CANCELLED', 'NO_SHOW')),
+    CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (id)
+);
@@ -0,0 +1,22 @@
+-- Id з послідовностей з кроком 50 (pooled-оптимізатор Hibernate, allocationSize = 50).
+-- Hibernate отримує значення v з nextval і видає id з блоку [v - 49, v], тому перший
+-- nextval має повернути max(id) + 50 - тоді блок починається з max(id) + 1.
+-- На БД від ddl-auto колонки id були bigserial/IDENTITY: прибираємо їхні значення за замовчуванням
+
+CREATE SEQUENCE IF NOT EXISTS doctors_seq INCREMENT BY 50;
+SELECT setval('doctors_seq', COALESCE((SELECT MAX(id) FROM doctors), 0) + 50, false);
+ALTER TABLE doctors ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE doctors ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS doctors_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS patients_seq INCREMENT BY 50;
+SELECT setval('patients_seq', COALESCE((SELECT MAX(id) FROM patients), 0) + 50, false);
+ALTER TABLE patients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE patients ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS patients_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS appointments_seq INCREMENT BY 50;
+SELECT setval('appointments_seq', COALESCE((SELECT MAX(id) FROM appointments), 0) + 50, false);
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE appointments ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS appointments_id_seq;
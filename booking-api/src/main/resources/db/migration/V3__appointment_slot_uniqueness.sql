@@ -0,0 +1,42 @@
+-- Один активний запис на слот лікаря. slot_active = TRUE, поки запис займає слот, і NULL
+-- для скасованих: NULL-и в унікальному індексі не конфліктують, тож скасований слот
+-- можна забронювати знову. Для старих БД колонку додаємо і заповнюємо за статусом
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS slot_active BOOLEAN;
+
+UPDATE appointments
+SET slot_active = CASE WHEN status <> 'CANCELLED' THEN TRUE END
+WHERE slot_active IS DISTINCT FROM (CASE WHEN status <> 'CANCELLED' THEN TRUE END);
+
+-- Старі БД могли вже накопичити подвійні бронювання - саме те, від чого захищає індекс, - і
+-- CREATE UNIQUE INDEX на них впав би. Слот лишається за найранішим записом (найменший id),
+-- решта активних записів того ж слоту втрачають slot_active (status не змінюється) і
+-- перелічуються в попередженні міграції, щоб їх можна було розібрати вручну
+DO $$
+DECLARE
+    conflicting TEXT;
+BEGIN
+    WITH ranked AS (
+        SELECT id,
+               ROW_NUMBER() OVER (PARTITION BY doctor_id, appointment_date, appointment_time ORDER BY id) AS position
+        FROM appointments
+        WHERE slot_active
+    ), released AS (
+        UPDATE appointments a
+        SET slot_active = NULL
+        FROM ranked r
+        WHERE a.id = r.id AND r.position > 1
+        RETURNING a.id
+    )
+    SELECT string_agg(id::TEXT, ', ' ORDER BY id) INTO conflicting FROM released;
+
+    IF conflicting IS NOT NULL THEN
+        RAISE WARNING 'Подвійні бронювання слотів: записи % більше не займають слот (slot_active = NULL), '
+            'слот лишено за раніше створеним записом', conflicting;
+    END IF;
+END $$;
+
+-- Індекс також обслуговує вибірки записів лікаря: findByDoctorId, findByDoctorIdAndDate,
+-- existsByDoctorIdAndAppointmentDateAndAppointmentTime і перевірку слотів масового створення
+CREATE UNIQUE INDEX IF NOT EXISTS uk_appointments_doctor_slot
+    ON appointments (doctor_id, appointment_date, appointment_time, slot_active);
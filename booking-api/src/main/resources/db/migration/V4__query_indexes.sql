@@ -0,0 +1,25 @@
+-- Індекси під запити репозиторіїв. Шлях doctor_id + appointment_date + appointment_time
+-- вже покриває префікс унікального індексу uk_appointments_doctor_slot (V3), окремий не потрібен
+
+-- findByPatientId, findDTOsByPatientId (з сортуванням за датою)
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_date
+    ON appointments (patient_id, appointment_date);
+
+-- findByStatus
+CREATE INDEX IF NOT EXISTS idx_appointments_status
+    ON appointments (status);
+
+-- findByAppointmentDate, findByAppointmentDateBetween, прогрів індексу зайнятості слотів
+CREATE INDEX IF NOT EXISTS idx_appointments_date
+    ON appointments (appointment_date);
+
+-- findBySpecialization (пошук найранішого вільного слоту)
+CREATE INDEX IF NOT EXISTS idx_doctors_specialization
+    ON doctors (specialization);
+
+-- existsByEmail / existsByPhoneNumber при кожному створенні та оновленні пацієнта
+CREATE INDEX IF NOT EXISTS idx_patients_email
+    ON patients (email);
+
+CREATE INDEX IF NOT EXISTS idx_patients_phone_number
+    ON patients (phone_number);
@@ -0,0 +1,11 @@
+-- Пошук за частиною імені (findBy...NameContainingIgnoreCase) Hibernate виконує як
+-- upper(name) LIKE upper('%...%'): B-tree тут не допоможе, а GIN-індекс триграм
+-- по тому ж виразу upper(name) - так. Розширення потребує прав на CREATE в БД
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_doctors_name_trgm
+    ON doctors USING gin (upper(doctor_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_patients_name_trgm
+    ON patients USING gin (upper(patient_name) gin_trgm_ops);
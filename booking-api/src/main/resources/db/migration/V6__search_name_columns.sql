@@ -0,0 +1,13 @@
+-- Нормалізовані імена для нечіткого пошуку (mode=fuzzy). Заповнює їх Java-міграція V7
+-- тією ж нормалізацією, що й застосунок (SearchName): lower() у PostgreSQL залежить від
+-- локалі БД і не знає про варіанти апострофа, тому SQL-вираз тут не годиться
+
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS search_name VARCHAR(255);
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS search_name VARCHAR(255);
+
+-- GIN-індекси триграм обслуговують і LIKE '%...%', і оператор схожості слів <%
+CREATE INDEX IF NOT EXISTS idx_doctors_search_name_trgm
+    ON doctors USING gin (search_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_patients_search_name_trgm
+    ON patients USING gin (search_name gin_trgm_ops);
@@ -0,0 +1,7 @@
+-- Версії рядків для оптимістичного блокування (@Version): UPDATE ... WHERE id = ? AND version = ?
+-- не змінює жодного рядка, якщо запис уже оновив інший запит. Наявні рядки отримують версію 0
+-- (константний DEFAULT у PostgreSQL 11+ не переписує таблицю)
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
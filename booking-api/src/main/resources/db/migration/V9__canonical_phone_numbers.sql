@@ -0,0 +1,43 @@
+-- Телефони зберігаються в канонічній формі +380XXXXXXXXX (PhoneNumberValidator.normalize):
+-- пошук за номером і перевірка унікальності порівнюють одне значення і йдуть одним індексом.
+-- Наявні номери в локальному форматі 0XXXXXXXXX переводяться в канонічну форму
+
+-- 0501234567 і +380501234567 - той самий номер. Якщо вони в різних пацієнтів, після переведення
+-- номер дублюється, і findByPhoneNumber вже не може повернути одного пацієнта. Котрому з них
+-- номер належить насправді, міграція не знає, тому зупиняється і перелічує конфлікти - їх
+-- розбирають вручну (змінити чи очистити номер), після чого міграцію запускають знову
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    WITH canonical AS (
+        SELECT id,
+               CASE WHEN phone_number ~ '^0[0-9]{9}$' THEN '+38' || phone_number ELSE phone_number END AS phone
+        FROM patients
+        WHERE phone_number IS NOT NULL
+    ), shared AS (
+        SELECT phone, string_agg(id::TEXT, ', ' ORDER BY id) AS ids
+        FROM canonical
+        GROUP BY phone
+        HAVING COUNT(*) > 1
+    )
+    SELECT string_agg(phone || ' (пацієнти ' || ids || ')', '; ' ORDER BY phone) INTO conflicts FROM shared;
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Номер телефону в канонічній формі належав би кільком пацієнтам: %', conflicts
+            USING HINT = 'Залиште номер одному пацієнту (UPDATE patients SET phone_number = ... WHERE id = ...) '
+                'і перезапустіть застосунок';
+    END IF;
+END $$;
+
+UPDATE patients
+SET phone_number = '+38' || phone_number
+WHERE phone_number ~ '^0[0-9]{9}$';
+
+-- Тепер номер однозначно визначає пацієнта - унікальний індекс гарантує це і для паралельних
+-- створень, які проходять перевірку existsByPhoneNumber одночасно. Він же обслуговує пошук
+-- за номером, тож звичайний індекс з V4 більше не потрібен
+CREATE UNIQUE INDEX IF NOT EXISTS uk_patients_phone_number
+    ON patients (phone_number);
+
+DROP INDEX IF EXISTS idx_patients_phone_number;
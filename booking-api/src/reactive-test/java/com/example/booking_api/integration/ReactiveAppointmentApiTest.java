@@ -0,0 +1,283 @@
+package com.example.booking_api.integration;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.dto.request.CreateDoctorDTO;
+import com.example.booking_api.dto.request.CreatePatientDTO;
+import com.example.booking_api.dto.request.UpdateAppointmentDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.DoctorDTO;
+import com.example.booking_api.dto.response.PatientDTO;
+import com.example.booking_api.dto.response.PatientImportResultDTO;
+import com.example.booking_api.entity.AppointmentStatus;
+import com.example.booking_api.service.AppointmentCsv;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Контракт /api/appointments у профілі reactive (WebFlux + R2DBC) на H2, а також /api/doctors і /api/patients,
+ * які в цьому профілі обслуговують WebFlux-контролери поверх JPA-сервісів.
+ * JDBC і R2DBC дивляться в ту саму in-memory БД: схему створює Hibernate, рядки пише R2DBC
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@ActiveProfiles("reactive")
+@DisplayName("Reactive Appointment API Tests (WebFlux + R2DBC, H2)")
+class ReactiveAppointmentApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        long timestamp = System.nanoTime();
+
+        CreateDoctorDTO doctor = new CreateDoctorDTO();
+        doctor.setDoctorName("Др. Реактивний");
+        doctor.setSpecialization("Терапевт");
+        doctor.setEmail("reactive" + timestamp + "@clinic.com");
+        doctorId = webTestClient.post().uri("/api/doctors")
+                .bodyValue(doctor)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DoctorDTO.class)
+                .returnResult().getResponseBody().getId();
+
+        CreatePatientDTO patient = new CreatePatientDTO();
+        patient.setPatientName("Пацієнт Реактивний");
+        patient.setEmail("patient" + timestamp + "@example.com");
+        patient.setPhoneNumber("+38050" + (1_000_000 + timestamp % 9_000_000));
+        patientId = webTestClient.post().uri("/api/patients")
+                .bodyValue(patient)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PatientDTO.class)
+                .returnResult().getResponseBody().getId();
+
+        date = LocalDate.now().plusDays(7);
+    }
+
+    @Test
+    @DisplayName("POST /api/appointments - 201, повторне бронювання слоту - 400")
+    void create_ThenSameSlot_Rejected() {
+        AppointmentDTO created = create(LocalTime.of(9, 0));
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getDoctorName()).isEqualTo("Др. Реактивний");
+        assertThat(created.getPatientName()).isEqualTo("Пацієнт Реактивний");
+        assertThat(created.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        assertThat(created.getVersion()).isZero();
+
+        webTestClient.post().uri("/api/appointments")
+                .bodyValue(request(LocalTime.of(9, 0)))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Цей час вже зайнятий. Оберіть інший час.");
+    }
+
+    @Test
+    @DisplayName("POST /api/appointments - невалідний запит повертає 400 з помилками полів")
+    void create_Invalid_ReturnsValidationErrors() {
+        webTestClient.post().uri("/api/appointments")
+                .bodyValue(new CreateAppointmentDTO())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors.doctorId").exists();
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/{id} - неіснуючий запис 404, актуальний ETag - 304")
+    void getById_NotFoundAndConditional() {
+        webTestClient.get().uri("/api/appointments/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        AppointmentDTO created = create(LocalTime.of(9, 30));
+        String etag = webTestClient.get().uri("/api/appointments/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AppointmentDTO.class)
+                .getResponseHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        webTestClient.get().uri("/api/appointments/{id}", created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/doctor/{id} - NDJSON потік у порядку дати і часу")
+    void doctorSchedule_StreamsNdjson() {
+        create(LocalTime.of(11, 0));
+        create(LocalTime.of(10, 0));
+
+        List<AppointmentDTO> schedule = webTestClient.get().uri("/api/appointments/doctor/{id}", doctorId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(AppointmentDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(schedule).extracting(AppointmentDTO::getAppointmentTime)
+                .containsExactly(LocalTime.of(10, 0), LocalTime.of(11, 0));
+    }
+
+    @Test
+    @DisplayName("PUT /api/appointments/{id} - застаріла версія 409, актуальна оновлює запис")
+    void update_ChecksVersion() {
+        AppointmentDTO created = create(LocalTime.of(12, 0));
+
+        UpdateAppointmentDTO stale = new UpdateAppointmentDTO();
+        stale.setAppointmentTime(LocalTime.of(12, 30));
+        stale.setVersion(created.getVersion() + 1);
+        webTestClient.put().uri("/api/appointments/{id}", created.getId())
+                .bodyValue(stale)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        UpdateAppointmentDTO current = new UpdateAppointmentDTO();
+        current.setAppointmentTime(LocalTime.of(12, 30));
+        current.setVersion(created.getVersion());
+        AppointmentDTO updated = webTestClient.put().uri("/api/appointments/{id}", created.getId())
+                .bodyValue(current)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AppointmentDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(updated).isNotNull();
+        assertThat(updated.getAppointmentTime()).isEqualTo(LocalTime.of(12, 30));
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        // Старий слот звільнено
+        create(LocalTime.of(12, 0));
+    }
+
+    @Test
+    @DisplayName("PATCH cancel звільняє слот, DELETE видаляє запис")
+    void cancelAndDelete() {
+        AppointmentDTO created = create(LocalTime.of(15, 0));
+
+        webTestClient.patch().uri("/api/appointments/{id}/cancel", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        AppointmentDTO rebooked = create(LocalTime.of(15, 0));
+
+        webTestClient.delete().uri("/api/appointments/{id}", rebooked.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/appointments/{id}", rebooked.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/export?format=csv - заголовок і рядки за діапазон дат")
+    void export_Csv() {
+        create(LocalTime.of(16, 0));
+
+        String body = webTestClient.get()
+                .uri("/api/appointments/export?from={from}&to={to}&format=csv", date, date)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(body).startsWith(AppointmentCsv.HEADER)
+                .contains(",Др. Реактивний," + patientId + ",Пацієнт Реактивний," + date + ",16:00,SCHEDULED,");
+    }
+
+    @Test
+    @DisplayName("GET /api/doctors/{id} - неіснуючий лікар 404, актуальний ETag 304")
+    void doctorById_Conditional() {
+        webTestClient.get().uri("/api/doctors/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        String etag = webTestClient.get().uri("/api/doctors/{id}", doctorId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.doctorName").isEqualTo("Др. Реактивний")
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(etag).startsWith("\"doctor-" + doctorId + "-");
+
+        webTestClient.get().uri("/api/doctors/{id}", doctorId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("POST /api/patients/import - CSV потоком, некоректні рядки у звіті")
+    void importPatients_Csv() {
+        long timestamp = System.nanoTime();
+        String csv = "patientName,phoneNumber,email\n"
+                + "Ірина Імпорт,+38067" + (1_000_000 + timestamp % 9_000_000) + ",irina" + timestamp + "@example.com\n"
+                + "Короткий Телефон,123,short" + timestamp + "@example.com\n";
+
+        PatientImportResultDTO result = webTestClient.post().uri("/api/patients/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PatientImportResultDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getImported()).isEqualTo(1L);
+        assertThat(result.getRejected()).isEqualTo(1L);
+        assertThat(result.getRejections()).hasSize(1);
+        webTestClient.get().uri("/api/patients/email/{email}", "irina" + timestamp + "@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.patientName").isEqualTo("Ірина Імпорт");
+    }
+
+    private AppointmentDTO create(LocalTime time) {
+        AppointmentDTO created = webTestClient.post().uri("/api/appointments")
+                .bodyValue(request(time))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AppointmentDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(created).isNotNull();
+        return created;
+    }
+
+    private CreateAppointmentDTO request(LocalTime time) {
+        CreateAppointmentDTO dto = new CreateAppointmentDTO();
+        dto.setDoctorId(doctorId);
+        dto.setPatientId(patientId);
+        dto.setAppointmentDate(date);
+        dto.setAppointmentTime(time);
+        return dto;
+    }
+}
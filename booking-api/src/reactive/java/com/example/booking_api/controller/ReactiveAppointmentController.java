@@ -0,0 +1,151 @@
+package com.example.booking_api.controller;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.dto.request.UpdateAppointmentDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.BulkResultDTO;
+import com.example.booking_api.dto.response.DayAvailabilityDTO;
+import com.example.booking_api.dto.response.FreeSlotDTO;
+import com.example.booking_api.service.AppointmentExportService;
+import com.example.booking_api.service.ReactiveAppointmentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Контракт /api/appointments на WebFlux (профіль reactive) - ті самі шляхи, DTO і коди відповідей,
+ * що й в AppointmentController. Списки записів пишуться у відповідь у міру читання з БД:
+ * JSON-масивом або, з Accept: application/x-ndjson, по одному об'єкту на рядок
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/appointments")
+@RequiredArgsConstructor
+public class ReactiveAppointmentController {
+
+    private final ReactiveAppointmentService appointmentService;
+
+    /**
+     * POST /api/appointments - Створити запис
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<AppointmentDTO> createAppointment(@Valid @RequestBody CreateAppointmentDTO dto) {
+        return appointmentService.createAppointment(dto);
+    }
+
+    /**
+     * POST /api/appointments/bulk - Створити список записів (частковий успіх, результат по кожному елементу)
+     */
+    @PostMapping("/bulk")
+    public Mono<BulkResultDTO> createAppointments(@RequestBody List<CreateAppointmentDTO> dtos) {
+        return appointmentService.createAppointments(dtos);
+    }
+
+    /**
+     * GET /api/appointments/{id} - Отримати запис за ID
+     * ETag / Last-Modified; з актуальним If-None-Match відповідь 304 без тіла
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AppointmentDTO>> getAppointmentById(@PathVariable Long id, ServerWebExchange exchange) {
+        return appointmentService.getAppointmentSnapshot(id)
+                .flatMap(appointment -> ConditionalGet.notModified(exchange, "appointment", id,
+                        appointment.version(), appointment.lastModified())
+                        ? Mono.empty()  // 304 Not Modified
+                        : Mono.just(ResponseEntity.ok(appointment.toDTO())));
+    }
+
+    /**
+     * GET /api/appointments/doctor/{doctorId} - Записи лікаря (потоком)
+     */
+    @GetMapping(value = "/doctor/{doctorId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AppointmentDTO> getAppointmentsByDoctor(@PathVariable Long doctorId) {
+        return appointmentService.getAppointmentsByDoctor(doctorId);
+    }
+
+    /**
+     * GET /api/appointments/patient/{patientId} - Записи пацієнта (потоком)
+     */
+    @GetMapping(value = "/patient/{patientId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AppointmentDTO> getAppointmentsByPatient(@PathVariable Long patientId) {
+        return appointmentService.getAppointmentsByPatient(patientId);
+    }
+
+    /**
+     * GET /api/appointments/export?from=...&to=...&format=ndjson|csv - Вивантаження записів за діапазон дат (потоком)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<String>> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        AppointmentExportService.Format exportFormat = AppointmentExportService.Format.of(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportFormat.fileName(from, to))
+                        .build().toString())
+                .body(appointmentService.exportAppointments(from, to, exportFormat));
+    }
+
+    /**
+     * GET /api/appointments/availability/doctor/{doctorId}?from=...&to=... - Вільні слоти лікаря по днях
+     */
+    @GetMapping("/availability/doctor/{doctorId}")
+    public Mono<List<DayAvailabilityDTO>> getDoctorAvailability(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return appointmentService.getDoctorAvailability(doctorId, from, to);
+    }
+
+    /**
+     * GET /api/appointments/availability/earliest?specialization=...&from=...&to=... - Найраніший вільний слот
+     */
+    @GetMapping("/availability/earliest")
+    public Mono<FreeSlotDTO> findEarliestFreeSlot(
+            @RequestParam String specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return appointmentService.findEarliestFreeSlot(specialization, from, to);
+    }
+
+    /**
+     * PUT /api/appointments/{id} - Оновити запис
+     */
+    @PutMapping("/{id}")
+    public Mono<AppointmentDTO> updateAppointment(@PathVariable Long id, @Valid @RequestBody UpdateAppointmentDTO dto) {
+        return appointmentService.updateAppointment(id, dto);
+    }
+
+    /**
+     * PATCH /api/appointments/{id}/cancel - Скасувати запис
+     */
+    @PatchMapping("/{id}/cancel")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> cancelAppointment(@PathVariable Long id) {
+        return appointmentService.cancelAppointment(id);
+    }
+
+    /**
+     * Видалення запису
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteAppointment(@PathVariable Long id) {
+        return appointmentService.deleteAppointment(id);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.booking_api.controller;
+
+import com.example.booking_api.dto.request.CreateDoctorDTO;
+import com.example.booking_api.dto.request.UpdateDoctorDTO;
+import com.example.booking_api.dto.response.CursorPage;
+import com.example.booking_api.dto.response.DoctorDTO;
+import com.example.booking_api.service.DoctorService;
+import com.example.booking_api.service.NameSearch;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * /api/doctors у профілі reactive - ті самі шляхи, DTO і коди відповідей, що й у DoctorController.
+ * Лікарі читаються і пишуться тим самим DoctorService (JPA), виклики - через Blocking
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/doctors")
+@RequiredArgsConstructor
+public class ReactiveDoctorController {
+
+    private final DoctorService doctorService;
+
+    /**
+     * POST /api/doctors - Створити лікаря
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<DoctorDTO> createDoctor(@Valid @RequestBody CreateDoctorDTO dto) {
+        return Blocking.call(() -> doctorService.createDoctor(dto));
+    }
+
+    /**
+     * GET /api/doctors?cursor=...&size=... - Сторінка лікарів, курсор наступної - у заголовку X-Next-Cursor
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<DoctorDTO>>> getAllDoctors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return Blocking.call(() -> doctorService.getDoctorsPage(cursor, size))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+                    }
+                    return response.body(page.getItems());
+                });
+    }
+
+    /**
+     * GET /api/doctors/{id} - Отримати лікаря за ID
+     * ETag / Last-Modified; з актуальним If-None-Match відповідь 304 без тіла
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<DoctorDTO>> getDoctorById(@PathVariable Long id, ServerWebExchange exchange) {
+        return Blocking.call(() -> doctorService.getDoctorLastModified(id))
+                .flatMap(lastModified -> ConditionalGet.notModified(exchange, "doctor", id, null, lastModified)
+                        ? Mono.empty()  // 304 Not Modified
+                        : Blocking.call(() -> ResponseEntity.ok(doctorService.getDoctorById(id))));
+    }
+
+    /**
+     * GET /api/doctors/email/{email} - Отримати лікаря за email
+     */
+    @GetMapping("/email/{email}")
+    public Mono<DoctorDTO> getDoctorByEmail(@PathVariable String email) {
+        return Blocking.call(() -> doctorService.getDoctorByEmail(email));
+    }
+
+    /**
+     * GET /api/doctors/specialization/{specialization} - Лікарі за спеціалізацією
+     */
+    @GetMapping("/specialization/{specialization}")
+    public Mono<List<DoctorDTO>> getDoctorsBySpecialization(@PathVariable String specialization) {
+        return Blocking.call(() -> doctorService.getDoctorsBySpecialization(specialization));
+    }
+
+    /**
+     * GET /api/doctors/search?name=...&mode=contains|fuzzy&limit=... - Пошук лікарів за ім'ям
+     */
+    @GetMapping("/search")
+    public Mono<List<DoctorDTO>> searchDoctorsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = NameSearch.MODE_CONTAINS) String mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        return Blocking.call(() -> doctorService.searchDoctors(name, mode, limit));
+    }
+
+    /**
+     * PUT /api/doctors/{id} - Оновити лікаря
+     */
+    @PutMapping("/{id}")
+    public Mono<DoctorDTO> updateDoctor(@PathVariable Long id, @Valid @RequestBody UpdateDoctorDTO dto) {
+        return Blocking.call(() -> doctorService.updateDoctor(id, dto));
+    }
+
+    /**
+     * DELETE /api/doctors/{id} - Видалити лікаря
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteDoctor(@PathVariable Long id) {
+        return Blocking.run(() -> doctorService.deleteDoctor(id));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.booking_api.controller;
+
+import com.example.booking_api.dto.request.CreatePatientDTO;
+import com.example.booking_api.dto.request.UpdatePatientDTO;
+import com.example.booking_api.dto.response.CursorPage;
+import com.example.booking_api.dto.response.PatientDTO;
+import com.example.booking_api.dto.response.PatientImportResultDTO;
+import com.example.booking_api.dto.response.PatientSuggestionDTO;
+import com.example.booking_api.service.NameSearch;
+import com.example.booking_api.service.PatientImportService;
+import com.example.booking_api.service.PatientService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * /api/patients у профілі reactive - ті самі шляхи, DTO і коди відповідей, що й у PatientController
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/patients")
+@RequiredArgsConstructor
+public class ReactivePatientController {
+
+    /** Скільки байтів CSV чекає на імпорт, поки читання тіла запиту призупинене */
+    private static final int IMPORT_BUFFER_BYTES = 64 * 1024;
+
+    private final PatientService patientService;
+    private final PatientImportService patientImportService;
+
+    /**
+     * POST /api/patients - Створити пацієнта
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<PatientDTO> createPatient(@Valid @RequestBody CreatePatientDTO dto) {
+        return Blocking.call(() -> patientService.createPatient(dto));
+    }
+
+    /**
+     * POST /api/patients/import - Масовий імпорт з CSV (заголовок: patientName,phoneNumber,email)
+     * Тіло не збирається в пам'ять: частини, що надходять, передаються імпорту через канал
+     * обмеженого розміру, і читання запиту чекає, поки імпорт їх забере
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public Mono<PatientImportResultDTO> importPatients(@RequestBody Flux<DataBuffer> csv) {
+        return Mono.using(() -> new PipedInputStream(IMPORT_BUFFER_BYTES),
+                input -> {
+                    PipedOutputStream output = connect(input);
+                    DataBufferUtils.write(csv.publishOn(Schedulers.boundedElastic()), output)
+                            .map(DataBufferUtils::release)
+                            .doFinally(signal -> close(output))
+                            .subscribe(released -> { }, error -> { });
+                    return Blocking.call(() -> patientImportService.importPatients(input));
+                },
+                ReactivePatientController::close);
+    }
+
+    /**
+     * GET /api/patients?cursor=...&size=... - Сторінка пацієнтів, курсор наступної - у заголовку X-Next-Cursor
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<PatientDTO>>> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return Blocking.call(() -> patientService.getPatientsPage(cursor, size))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+                    }
+                    return response.body(page.getItems());
+                });
+    }
+
+    /**
+     * GET /api/patients/{id} - Отримати пацієнта за ID
+     * ETag / Last-Modified; з актуальним If-None-Match відповідь 304 без тіла
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PatientDTO>> getPatientById(@PathVariable Long id, ServerWebExchange exchange) {
+        return Blocking.call(() -> patientService.getPatientLastModified(id))
+                .flatMap(lastModified -> ConditionalGet.notModified(exchange, "patient", id, null, lastModified)
+                        ? Mono.empty()  // 304 Not Modified
+                        : Blocking.call(() -> ResponseEntity.ok(patientService.getPatientById(id))));
+    }
+
+    /**
+     * GET /api/patients/email/{email} - Отримати пацієнта за email
+     */
+    @GetMapping("/email/{email}")
+    public Mono<PatientDTO> getPatientByEmail(@PathVariable String email) {
+        return Blocking.call(() -> patientService.getPatientByEmail(email));
+    }
+
+    /**
+     * GET /api/patients/phone/{phoneNumber} - Отримати пацієнта за телефоном
+     */
+    @GetMapping("/phone/{phoneNumber}")
+    public Mono<PatientDTO> getPatientByPhoneNumber(@PathVariable String phoneNumber) {
+        return Blocking.call(() -> patientService.getPatientByPhoneNumber(phoneNumber));
+    }
+
+    /**
+     * GET /api/patients/search?name=...&mode=contains|fuzzy&limit=... - Пошук пацієнтів за ім'ям
+     */
+    @GetMapping("/search")
+    public Mono<List<PatientDTO>> searchPatientsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = NameSearch.MODE_CONTAINS) String mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        return Blocking.call(() -> patientService.searchPatients(name, mode, limit));
+    }
+
+    /**
+     * GET /api/patients/typeahead?query=...&limit=... - Підказки за префіксом імені, телефону чи email
+     */
+    @GetMapping("/typeahead")
+    public Mono<List<PatientSuggestionDTO>> suggestPatients(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return Blocking.call(() -> patientService.suggestPatients(query, limit));
+    }
+
+    /**
+     * PUT /api/patients/{id} - Оновити пацієнта
+     */
+    @PutMapping("/{id}")
+    public Mono<PatientDTO> updatePatient(@PathVariable Long id, @Valid @RequestBody UpdatePatientDTO dto) {
+        return Blocking.call(() -> patientService.updatePatient(id, dto));
+    }
+
+    /**
+     * DELETE /api/patients/{id} - Видалити пацієнта
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deletePatient(@PathVariable Long id) {
+        return Blocking.run(() -> patientService.deletePatient(id));
+    }
+
+    private static PipedOutputStream connect(PipedInputStream input) {
+        try {
+            return new PipedOutputStream(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Закриття будь-якого кінця каналу: якщо імпорт завершився раніше, ніж прочитав тіло, запис
+     * у закритий канал закінчується помилкою, а не чекає місця в буфері
+     */
+    private static void close(Closeable stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // канал уже закрито з іншого боку
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.booking_api.entity;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Рядок таблиці appointments для R2DBC (профіль reactive) - та сама таблиця, що й у JPA-сутності
+ * Appointment, але без асоціацій: лікар і пацієнт - лише id, імена підтягує JOIN у запитах DTO.
+ *
+ * Колбеків JPA тут немає, тому slot_active синхронізується в setStatus, а created_at/updated_at
+ * виставляє сервіс. Новий рядок визначається за version == null: id береться з appointments_seq
+ * до вставки
+ */
+@Data
+@NoArgsConstructor
+@Table("appointments")
+public class AppointmentRow {
+
+    @Id
+    private Long id;
+
+    @Column("doctor_id")
+    private Long doctorId;
+
+    @Column("patient_id")
+    private Long patientId;
+
+    @Column("appointment_date")
+    private LocalDate appointmentDate;
+
+    @Column("appointment_time")
+    private LocalTime appointmentTime;
+
+    @Column("status")
+    private AppointmentStatus status;
+
+    /**
+     * TRUE, поки запис займає слот; NULL для скасованих (див. Appointment.slotActive)
+     */
+    @Setter(AccessLevel.NONE)
+    @Column("slot_active")
+    private Boolean slotActive;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column("version")
+    private Long version;
+
+    public void setStatus(AppointmentStatus status) {
+        this.status = status;
+        this.slotActive = status != null && status.occupiesSlot() ? Boolean.TRUE : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.booking_api.repository;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.AppointmentRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * R2DBC-дзеркало AppointmentRepository для профілю reactive: ті самі DTO-проєкції
+ * одним SELECT з JOIN, але рядки віддаються Flux-ом у міру читання з БД
+ */
+@Repository
+public interface ReactiveAppointmentRepository extends ReactiveCrudRepository<AppointmentRow, Long> {
+
+    String DTO_SELECT = "SELECT a.id, a.doctor_id, d.doctor_name, a.patient_id, p.patient_name, " +
+            "a.appointment_date, a.appointment_time, a.status, a.created_at, a.updated_at, a.version " +
+            "FROM appointments a JOIN doctors d ON d.id = a.doctor_id JOIN patients p ON p.id = a.patient_id ";
+
+    /**
+     * Наступний id з appointments_seq. Значення використовується як id напряму: Hibernate бере з
+     * послідовності верхню межу блоку [v - 49, v], тож окремі значення nextval з його блоками не перетинаються
+     */
+    @Query("SELECT nextval('appointments_seq')")
+    Mono<Long> nextId();
+
+    // ========== DTO PROJECTIONS ==========
+
+    /**
+     * Запис разом із часом останньої зміни (для ETag / Last-Modified) з урахуванням імен лікаря і пацієнта
+     */
+    @Query("SELECT a.id, a.doctor_id, d.doctor_name, a.patient_id, p.patient_name, " +
+            "a.appointment_date, a.appointment_time, a.status, a.created_at, a.updated_at, a.version, " +
+            "GREATEST(COALESCE(a.updated_at, a.created_at), " +
+            "COALESCE(d.updated_at, d.created_at), COALESCE(p.updated_at, p.created_at)) AS last_modified " +
+            "FROM appointments a JOIN doctors d ON d.id = a.doctor_id JOIN patients p ON p.id = a.patient_id " +
+            "WHERE a.id = :id")
+    Mono<AppointmentSnapshot> findSnapshotById(Long id);
+
+    @Query(DTO_SELECT + "WHERE a.id = :id")
+    Mono<AppointmentDTO> findDTOById(Long id);
+
+    /**
+     * Розклад лікаря в порядку дати і часу; драйвер читає рядки порціями (fetchSize) за запитом підписника
+     */
+    @Query(DTO_SELECT + "WHERE a.doctor_id = :doctorId ORDER BY a.appointment_date, a.appointment_time")
+    Flux<AppointmentDTO> findDTOsByDoctorId(Long doctorId);
+
+    @Query(DTO_SELECT + "WHERE a.patient_id = :patientId ORDER BY a.appointment_date, a.appointment_time")
+    Flux<AppointmentDTO> findDTOsByPatientId(Long patientId);
+
+    @Query(DTO_SELECT + "WHERE a.appointment_date BETWEEN :from AND :to " +
+            "ORDER BY a.appointment_date, a.appointment_time, a.id")
+    Flux<AppointmentDTO> findDTOsByDateRange(LocalDate from, LocalDate to);
+}
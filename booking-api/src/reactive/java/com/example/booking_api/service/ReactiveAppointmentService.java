@@ -0,0 +1,263 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.dto.request.UpdateAppointmentDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.BulkResultDTO;
+import com.example.booking_api.dto.response.DayAvailabilityDTO;
+import com.example.booking_api.dto.response.FreeSlotDTO;
+import com.example.booking_api.entity.Appointment;
+import com.example.booking_api.entity.AppointmentRow;
+import com.example.booking_api.entity.AppointmentStatus;
+import com.example.booking_api.repository.AppointmentSnapshot;
+import com.example.booking_api.repository.ReactiveAppointmentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.R2dbcException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Неблокуюча логіка записів для профілю reactive - ті самі правила, що й в AppointmentService.
+ *
+ * Кожна зміна - один INSERT, UPDATE чи DELETE; UPDATE і DELETE перевіряють version у WHERE,
+ * тому транзакції R2DBC не потрібні. Зайнятість слотів, як і в блокуючому сервісі, спершу
+ * перевіряє SlotOccupancyIndex, а гарантує унікальний індекс у БД.
+ * Масове створення і пошук вільних слотів лишаються на JPA і виконуються на boundedElastic,
+ * щоб не блокувати потоки обробки запитів
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAppointmentService {
+
+    /** Назва обмеження в тексті помилки PostgreSQL: ... violates ... constraint "fk_appointments_doctor" */
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("constraint \"([^\"]+)\"");
+
+    private final ReactiveAppointmentRepository appointmentRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
+
+    // ========== CREATE ==========
+
+    public Mono<AppointmentDTO> createAppointment(CreateAppointmentDTO dto) {
+        return checkSlotFree(dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime())
+                .then(appointmentRepository.nextId())
+                .flatMap(id -> {
+                    AppointmentRow row = new AppointmentRow();
+                    row.setId(id);
+                    row.setDoctorId(dto.getDoctorId());
+                    row.setPatientId(dto.getPatientId());
+                    row.setAppointmentDate(dto.getAppointmentDate());
+                    row.setAppointmentTime(dto.getAppointmentTime());
+                    row.setStatus(AppointmentStatus.SCHEDULED);
+                    row.setCreatedAt(LocalDateTime.now());
+                    return appointmentRepository.save(row);
+                })
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> translateViolation(dto.getDoctorId(), dto.getPatientId(), e))
+                .doOnNext(saved -> slotOccupation(saved).run())
+                .flatMap(saved -> getAppointmentById(saved.getId()));
+    }
+
+    public Mono<BulkResultDTO> createAppointments(List<CreateAppointmentDTO> dtos) {
+        return Mono.fromCallable(() -> appointmentService.createAppointments(dtos))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ========== READ ==========
+
+    public Mono<AppointmentDTO> getAppointmentById(Long id) {
+        return appointmentRepository.findDTOById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    public Flux<AppointmentDTO> getAppointmentsByDoctor(Long doctorId) {
+        return appointmentRepository.findDTOsByDoctorId(doctorId);
+    }
+
+    public Flux<AppointmentDTO> getAppointmentsByPatient(Long patientId) {
+        return appointmentRepository.findDTOsByPatientId(patientId);
+    }
+
+    /**
+     * Запис разом із часом останньої зміни і версією для умовного GET - один SELECT
+     */
+    public Mono<AppointmentSnapshot> getAppointmentSnapshot(Long id) {
+        return appointmentRepository.findSnapshotById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**
+     * Записи за діапазон дат рядками NDJSON або CSV (з заголовком) - для GET /api/appointments/export
+     */
+    public Flux<String> exportAppointments(LocalDate from, LocalDate to, AppointmentExportService.Format format) {
+        AppointmentExportService.checkRange(from, to);
+        Flux<AppointmentDTO> rows = appointmentRepository.findDTOsByDateRange(from, to);
+        return switch (format) {
+            case NDJSON -> rows.handle((dto, sink) -> {
+                try {
+                    sink.next(objectMapper.writeValueAsString(dto) + "\n");
+                } catch (JsonProcessingException e) {
+                    sink.error(e);
+                }
+            });
+            case CSV -> Flux.concat(Flux.just(AppointmentCsv.HEADER), rows.map(AppointmentCsv::line));
+        };
+    }
+
+    public Mono<List<DayAvailabilityDTO>> getDoctorAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        return Mono.fromCallable(() -> availabilityService.getDoctorAvailability(doctorId, from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<FreeSlotDTO> findEarliestFreeSlot(String specialization, LocalDate from, LocalDate to) {
+        return Mono.fromCallable(() -> availabilityService.findEarliestFreeSlot(specialization, from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ========== UPDATE ==========
+
+    public Mono<AppointmentDTO> updateAppointment(Long id, UpdateAppointmentDTO dto) {
+        return findRow(id)
+                .flatMap(row -> {
+                    OptimisticVersion.check(Appointment.class, id, dto.getVersion(), row.getVersion());
+                    Runnable releaseOldSlot = slotRelease(row);
+                    boolean occupiedSlot = row.getStatus().occupiesSlot();
+                    LocalDate oldDate = row.getAppointmentDate();
+                    LocalTime oldTime = row.getAppointmentTime();
+
+                    if (dto.getAppointmentDate() != null) {
+                        row.setAppointmentDate(dto.getAppointmentDate());
+                    }
+                    if (dto.getAppointmentTime() != null) {
+                        row.setAppointmentTime(dto.getAppointmentTime());
+                    }
+                    if (dto.getStatus() != null) {
+                        row.setStatus(dto.getStatus());
+                    }
+
+                    boolean takesNewSlot = row.getStatus().occupiesSlot() && (!occupiedSlot
+                            || !row.getAppointmentDate().equals(oldDate)
+                            || !row.getAppointmentTime().equals(oldTime));
+                    Mono<Void> slotCheck = takesNewSlot
+                            ? checkSlotFree(row.getDoctorId(), row.getAppointmentDate(), row.getAppointmentTime())
+                            : Mono.empty();
+
+                    row.setUpdatedAt(LocalDateTime.now());
+                    Runnable occupyNewSlot = slotOccupation(row);
+                    return slotCheck.then(appointmentRepository.save(row))
+                            .onErrorMap(DataIntegrityViolationException.class,
+                                    e -> translateViolation(row.getDoctorId(), row.getPatientId(), e))
+                            .doOnNext(saved -> {
+                                releaseOldSlot.run();
+                                occupyNewSlot.run();
+                            });
+                })
+                .flatMap(saved -> getAppointmentById(id));
+    }
+
+    public Mono<Void> cancelAppointment(Long id) {
+        return findRow(id)
+                .flatMap(row -> {
+                    Runnable releaseSlot = slotRelease(row);
+                    row.setStatus(AppointmentStatus.CANCELLED);
+                    row.setUpdatedAt(LocalDateTime.now());
+                    return appointmentRepository.save(row).doOnNext(saved -> releaseSlot.run());
+                })
+                .then();
+    }
+
+    // ========== DELETE ==========
+
+    public Mono<Void> deleteAppointment(Long id) {
+        return findRow(id)
+                .flatMap(row -> {
+                    Runnable releaseSlot = slotRelease(row);
+                    return appointmentRepository.delete(row).then(Mono.fromRunnable(releaseSlot));
+                })
+                .then();
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private Mono<AppointmentRow> findRow(Long id) {
+        return appointmentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**
+     * R2DBC не передає назву обмеження окремо - лише в тексті помилки PostgreSQL
+     */
+    private static RuntimeException translateViolation(Long doctorId, Long patientId,
+                                                       DataIntegrityViolationException e) {
+        if (e.getCause() instanceof R2dbcException violation) {
+            Matcher name = CONSTRAINT_NAME.matcher(String.valueOf(violation.getMessage()));
+            return BookingViolation.translate(doctorId, patientId, e, name.find() ? name.group(1) : null);
+        }
+        return BookingViolation.translate(doctorId, patientId, e);
+    }
+
+    /**
+     * Збіг в індексі зайнятості - лише підказка: перед відмовою слот перевіряється в БД (JPA,
+     * тому на boundedElastic). Без збігу рішення лишається за унікальним індексом при вставці
+     */
+    private Mono<Void> checkSlotFree(Long doctorId, LocalDate date, LocalTime time) {
+        if (!slotOccupancyIndex.isOccupied(doctorId, date, time)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> slotOccupancyIndex.confirmOccupied(doctorId, date, time))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(taken -> taken ? Mono.error(slotTaken()) : Mono.empty());
+    }
+
+    private static EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Запис з ID " + id + " не знайдено");
+    }
+
+    private static IllegalArgumentException slotTaken() {
+        BookingMetrics.slotConflict(BookingMetrics.Check.INDEX);
+        return new IllegalArgumentException("Цей час вже зайнятий. Оберіть інший час.");
+    }
+
+    /**
+     * Звільнення слоту, який запис займає зараз (знімок до змін рядка)
+     */
+    private Runnable slotRelease(AppointmentRow row) {
+        if (!row.getStatus().occupiesSlot()) {
+            return () -> { };
+        }
+        Long doctorId = row.getDoctorId();
+        LocalDate date = row.getAppointmentDate();
+        LocalTime time = row.getAppointmentTime();
+        return () -> slotOccupancyIndex.release(doctorId, date, time);
+    }
+
+    /**
+     * Заняття слоту, який запис займає зараз (знімок після змін рядка)
+     */
+    private Runnable slotOccupation(AppointmentRow row) {
+        if (!row.getStatus().occupiesSlot()) {
+            return () -> { };
+        }
+        Long doctorId = row.getDoctorId();
+        LocalDate date = row.getAppointmentDate();
+        LocalTime time = row.getAppointmentTime();
+        return () -> slotOccupancyIndex.occupy(doctorId, date, time);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.booking_api.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConnectionPermitDataSource Unit Tests")
+class ConnectionPermitDataSourceTest {
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    @DisplayName("Дозвіл повертається при закритті з'єднання, повторне закриття його не дублює")
+    void close_ReleasesPermitOnce() throws SQLException {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(h2, 2, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Без вільного дозволу - SQLTransientConnectionException після очікування")
+    void getConnection_NoPermit_TimesOut() throws SQLException {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(h2, 1, Duration.ofMillis(50));
+
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .extracting(e -> ((SQLException) e).getSQLState())
+                    .isEqualTo(ConnectionPermitDataSource.SQL_STATE_UNABLE_TO_CONNECT);
+        }
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Потік, що чекає, отримує з'єднання, щойно інше закрито")
+    void getConnection_WaitsForRelease() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(h2, 1, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try (Connection second = dataSource.getConnection()) {
+                return second.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+
+        first.close();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Помилка пулу не забирає дозвіл")
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("connection refused"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(failing, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("connection refused");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("unwrap повертає з'єднання пулу")
+    void unwrap_ReachesTargetConnection() throws SQLException {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(h2, 1, Duration.ofMillis(50));
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.unwrap(org.h2.jdbc.JdbcConnection.class)).isNotNull();
+            assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.booking_api.config;
+
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.repository.DoctorRepository;
+import com.example.booking_api.service.BookingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бюджет SQL-запитів на HTTP-запит: заголовки, метрика і відмова при перевищенні
+ * (booking.sql.budget.fail-on-exceed=true у тестових налаштуваннях). Бюджет тут - 2 запити
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudgetdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "booking.sql.budget.statements=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SQL Statement Budget Tests")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        doctorRepository.deleteAll();
+        doctor = new Doctor();
+        doctor.setDoctorName("Др. Бюджет");
+        doctor.setSpecialization("Терапевт");
+        doctor.setEmail("budget@clinic.com");
+        doctor = doctorRepository.save(doctor);
+    }
+
+    @Test
+    @DisplayName("У межах бюджету - кількість запитів і час JDBC у заголовках")
+    void withinBudget_ReportsHeaders() throws Exception {
+        // Час зміни для ETag і сам лікар (кеш другого рівня в тестах вимкнено)
+        mockMvc.perform(get("/api/doctors/{id}", doctor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementBudgetInterceptor.STATEMENTS_HEADER, "2"))
+                .andExpect(header().string(SqlStatementBudgetInterceptor.TIME_HEADER, matchesPattern("\\d+\\.\\d{3}")));
+    }
+
+    @Test
+    @DisplayName("Перевищення бюджету - 500 з описом і лічильник booking.request.sql.budget.exceeded")
+    void overBudget_FailsAndIsCounted() throws Exception {
+        double exceeded = exceeded("/api/patients", "POST");
+
+        // Перевірки унікальності email і телефону, послідовність і INSERT - більше двох запитів
+        mockMvc.perform(post("/api/patients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientName\":\"Пацієнт Бюджет\",\"phoneNumber\":\"0501234567\"," +
+                                "\"email\":\"over-budget@example.com\"}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", containsString("POST /api/patients")))
+                .andExpect(jsonPath("$.message", containsString("при бюджеті 2")));
+
+        assertThat(exceeded("/api/patients", "POST")).isEqualTo(exceeded + 1);
+    }
+
+    @Test
+    @DisplayName("@SqlStatementBudget на endpoint замінює бюджет за замовчуванням")
+    void annotatedEndpoint_UsesOwnBudget() throws Exception {
+        mockMvc.perform(post("/api/patients/import")
+                        .contentType("text/csv")
+                        .content("patientName,phoneNumber,email\nПацієнт Бюджет,0671234567,budget@example.com\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(header().exists(SqlStatementBudgetInterceptor.STATEMENTS_HEADER));
+    }
+
+    private double exceeded(String uri, String method) {
+        Counter counter = meterRegistry.find(BookingMetrics.REQUEST_SQL_BUDGET_EXCEEDED)
+                .tag("uri", uri).tag("method", method).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.booking_api.config;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatementCountingDataSource Unit Tests")
+class StatementCountingDataSourceTest {
+
+    private StatementCountingDataSource dataSource;
+    private SqlStatementScope scope;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementCountingDataSource(h2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Кожне виконання - один запит, batch - теж один; підготовка і читання результату не рахуються")
+    void executions_AreCountedInScope() throws SQLException {
+        scope = SqlStatementScope.open(10);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS t (id INT)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO t VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT count(*) FROM t");
+                 ResultSet rows = select.executeQuery()) {
+                assertThat(rows.next()).isTrue();
+            }
+        }
+
+        assertThat(scope.statements()).isEqualTo(3);
+        assertThat(scope.nanos()).isPositive();
+        assertThat(scope.exceeded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Поза областю з'єднання не обгортається; unwrap повертає з'єднання драйвера")
+    void connection_WrappedOnlyInScope() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(Proxy.isProxyClass(connection.getClass())).isFalse();
+        }
+
+        scope = SqlStatementScope.open(0);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(Proxy.isProxyClass(connection.getClass())).isTrue();
+            assertThat(connection.unwrap(JdbcConnection.class)).isInstanceOf(JdbcConnection.class);
+            assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT 1").close();
+            }
+        }
+        assertThat(scope.exceeded()).isTrue();
+    }
+}
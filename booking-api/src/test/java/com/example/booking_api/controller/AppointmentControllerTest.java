@@ -3,6 +3,7 @@ package com.example.booking_api.controller;
 
 import com.example.booking_api.dto.request.CreateAppointmentDTO;
 import com.example.booking_api.dto.request.UpdateAppointmentDTO;
+import com.example.booking_api.dto.response.AppointmentDTO;
 import com.example.booking_api.entity.Appointment;
 import com.example.booking_api.entity.AppointmentStatus;
 import com.example.booking_api.entity.Doctor;
@@ -10,6 +11,7 @@ import com.example.booking_api.entity.Patient;
 import com.example.booking_api.repository.AppointmentRepository;
 import com.example.booking_api.repository.DoctorRepository;
 import com.example.booking_api.repository.PatientRepository;
+import com.example.booking_api.service.AppointmentCsv;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,11 +23,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -191,6 +197,47 @@ class AppointmentControllerTest {
                 .andExpect(jsonPath("$.errors.doctorId").exists());
     }
 
+    @Test
+    @DisplayName("POST /api/appointments/bulk - частковий успіх")
+    void createAppointments_MixedItems_ReturnsPerItemResults() throws Exception {
+        LocalDate date = createAppointmentDTO.getAppointmentDate();
+        List<CreateAppointmentDTO> items = List.of(
+                new CreateAppointmentDTO(testDoctor.getId(), testPatient.getId(), date, LocalTime.of(9, 0)),
+                new CreateAppointmentDTO(testDoctor.getId(), testPatient.getId(), date, LocalTime.of(9, 5)),
+                new CreateAppointmentDTO(testDoctor.getId(), testPatient.getId(), date, LocalTime.of(9, 0)),
+                new CreateAppointmentDTO(testDoctor.getId() + 1000, testPatient.getId(), date, LocalTime.of(9, 10))
+        );
+
+        mockMvc.perform(
+                        post("/api/appointments/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(items))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].appointment.id").exists())
+                .andExpect(jsonPath("$.results[0].appointment.doctorName").value("Іван Петренко"))
+                .andExpect(jsonPath("$.results[1].appointment.appointmentTime").value("09:05:00"))
+                .andExpect(jsonPath("$.results[2].error").value(containsString("зайнятий")))
+                .andExpect(jsonPath("$.results[3].error").value(containsString("не знайдено")));
+
+        assert appointmentRepository.count() == 2 : "У БД мають бути 2 записи";
+    }
+
+    @Test
+    @DisplayName("POST /api/appointments/bulk - порожній список - 400")
+    void createAppointments_EmptyList_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(
+                        post("/api/appointments/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[]")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/appointments/{id} - отримання запису за ID")
     void getAppointmentById_ExistingId_ReturnsAppointment() throws Exception {
@@ -210,6 +257,59 @@ class AppointmentControllerTest {
                 .andExpect(jsonPath("$.patientName").value("Марія Іванова"));
     }
 
+    @Test
+    @DisplayName("GET /api/appointments/{id} - після зміни імені лікаря нове ім'я і новий ETag")
+    void getAppointmentById_AfterDoctorRename_ReturnsFreshName() throws Exception {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(testDoctor);
+        appointment.setPatient(testPatient);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(3));
+        appointment.setAppointmentTime(LocalTime.of(11, 0));
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        Appointment saved = appointmentRepository.save(appointment);
+
+        String etag = mockMvc.perform(get("/api/appointments/{id}", saved.getId()))
+                .andExpect(jsonPath("$.doctorName").value("Іван Петренко"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/appointments/{id}", saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/doctors/{id}", testDoctor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"doctorName\": \"Іван Петренко-Коваль\"}"))
+                .andExpect(status().isOk());
+
+        // Ім'я лікаря входить у DTO запису, тому старий ETag більше не актуальний
+        mockMvc.perform(get("/api/appointments/{id}", saved.getId()).header("If-None-Match", etag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.doctorName").value("Іван Петренко-Коваль"));
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/{id} - ETag з версією, повторний умовний запит з кешу DTO без SQL")
+    void getAppointmentById_ConditionalRequest_ServedFromCache() throws Exception {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(testDoctor);
+        appointment.setPatient(testPatient);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(4));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        Appointment saved = appointmentRepository.save(appointment);
+
+        String etag = mockMvc.perform(get("/api/appointments/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag",
+                        startsWith("\"appointment-" + saved.getId() + "-" + saved.getVersion() + "-")))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/appointments/{id}", saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("X-SQL-Statements", "0"));
+    }
+
     @Test
     @DisplayName("GET /api/appointments/999 - не знайдено - 404")
     void getAppointmentById_NonExistingId_ReturnsNotFound() throws Exception {
@@ -296,6 +396,71 @@ class AppointmentControllerTest {
                 .andExpect(jsonPath("$.updatedAt").exists());
     }
 
+    @Test
+    @DisplayName("PUT /api/appointments/{id} - застаріла версія - 409, актуальна - 200 з новою версією")
+    void updateAppointment_StaleVersion_ReturnsConflict() throws Exception {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(testDoctor);
+        appointment.setPatient(testPatient);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(3));
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        Appointment saved = appointmentRepository.save(appointment);
+
+        UpdateAppointmentDTO confirm = new UpdateAppointmentDTO();
+        confirm.setStatus(AppointmentStatus.CONFIRMED);
+        confirm.setVersion(saved.getVersion());
+
+        mockMvc.perform(put("/api/appointments/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(confirm)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(saved.getVersion() + 1));
+
+        // Друга зміна на основі тієї ж (уже застарілої) версії не перезаписує першу
+        UpdateAppointmentDTO reschedule = new UpdateAppointmentDTO();
+        reschedule.setAppointmentTime(LocalTime.of(11, 0));
+        reschedule.setVersion(saved.getVersion());
+
+        mockMvc.perform(put("/api/appointments/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reschedule)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        Appointment current = appointmentRepository.findById(saved.getId()).orElseThrow();
+        assertThat(current.getAppointmentTime()).isEqualTo(LocalTime.of(10, 0));
+    }
+
+    @Test
+    @DisplayName("PUT /api/appointments/{id} - перенесення на зайнятий слот - 400")
+    void updateAppointment_RescheduleToTakenSlot_ReturnsBadRequest() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(4);
+        for (LocalTime time : List.of(LocalTime.of(9, 0), LocalTime.of(9, 30))) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(testDoctor);
+            appointment.setPatient(testPatient);
+            appointment.setAppointmentDate(date);
+            appointment.setAppointmentTime(time);
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            appointmentRepository.save(appointment);
+        }
+        Long secondId = appointmentRepository.findByDoctorId(testDoctor.getId()).stream()
+                .filter(a -> a.getAppointmentTime().equals(LocalTime.of(9, 30)))
+                .findFirst().orElseThrow().getId();
+
+        UpdateAppointmentDTO reschedule = new UpdateAppointmentDTO();
+        reschedule.setAppointmentTime(LocalTime.of(9, 0));
+
+        mockMvc.perform(put("/api/appointments/{id}", secondId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reschedule)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Цей час вже зайнятий. Оберіть інший час."));
+    }
+
     @Test
     @DisplayName("PATCH /api/appointments/{id}/cancel - скасування запису")
     void cancelAppointment_ExistingId_ReturnsCancelled() throws Exception {
@@ -342,4 +507,157 @@ class AppointmentControllerTest {
         Appointment cancelled = appointmentRepository.findById(saved.getId()).orElseThrow();
         assert cancelled.getStatus() == AppointmentStatus.CANCELLED : "Статус має бути CANCELLED";
     }
+
+    @Test
+    @DisplayName("GET /api/appointments/availability/doctor/{id} - вільні слоти без заброньованого")
+    void getDoctorAvailability_ExcludesBookedSlot() throws Exception {
+        LocalDate date = createAppointmentDTO.getAppointmentDate();
+        mockMvc.perform(
+                        post("/api/appointments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createAppointmentDTO))
+                )
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/appointments/availability/doctor/{doctorId}", testDoctor.getId())
+                        .param("from", date.toString())
+                        .param("to", date.plusDays(1).toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].date").value(date.toString()))
+                .andExpect(jsonPath("$[0].freeSlots", hasSize(108)))
+                .andExpect(jsonPath("$[0].freeSlots", not(hasItem("14:00:00"))))
+                .andExpect(jsonPath("$[1].freeSlots", hasSize(109)));
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/availability/doctor/{id} - діапазон понад 31 день - 400")
+    void getDoctorAvailability_RangeTooWide_ReturnsBadRequest() throws Exception {
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        mockMvc.perform(get("/api/appointments/availability/doctor/{doctorId}", testDoctor.getId())
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(40).toString()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/availability/earliest - найраніший слот за спеціалізацією")
+    void findEarliestFreeSlot_SkipsBookedSlot() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        createAppointmentDTO.setAppointmentDate(date);
+        createAppointmentDTO.setAppointmentTime(LocalTime.of(9, 0));
+        mockMvc.perform(
+                        post("/api/appointments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createAppointmentDTO))
+                )
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/appointments/availability/earliest")
+                        .param("specialization", "Кардіолог")
+                        .param("from", date.toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.doctorId").value(testDoctor.getId()))
+                .andExpect(jsonPath("$.date").value(date.toString()))
+                .andExpect(jsonPath("$.time").value("09:05:00"));
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/availability/earliest - немає лікарів спеціалізації - 404")
+    void findEarliestFreeSlot_UnknownSpecialization_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/appointments/availability/earliest")
+                        .param("specialization", "Неіснуюча"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/export - NDJSON, по одному запису на рядок у порядку дати і часу")
+    void exportAppointments_Ndjson_StreamsLines() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(3);
+        for (LocalTime time : List.of(LocalTime.of(11, 0), LocalTime.of(10, 0))) {
+            createAppointmentDTO.setAppointmentDate(date);
+            createAppointmentDTO.setAppointmentTime(time);
+            mockMvc.perform(
+                            post("/api/appointments")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(createAppointmentDTO))
+                    )
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult started = mockMvc.perform(get("/api/appointments/export")
+                        .param("from", date.toString())
+                        .param("to", date.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition",
+                        containsString("appointments_" + date + "_" + date + ".ndjson")))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], AppointmentDTO.class).getAppointmentTime())
+                .isEqualTo(LocalTime.of(10, 0));
+        assertThat(objectMapper.readValue(lines[1], AppointmentDTO.class).getPatientName())
+                .isEqualTo("Марія Іванова");
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/export?format=csv - заголовок і рядок на запис")
+    void exportAppointments_Csv_WritesHeaderAndRows() throws Exception {
+        mockMvc.perform(
+                        post("/api/appointments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createAppointmentDTO))
+                )
+                .andExpect(status().isCreated());
+        LocalDate date = createAppointmentDTO.getAppointmentDate();
+
+        MvcResult started = mockMvc.perform(get("/api/appointments/export")
+                        .param("from", date.minusDays(1).toString())
+                        .param("to", date.plusDays(1).toString())
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body.split("\r\n")).hasSize(2);
+        assertThat(body).startsWith(AppointmentCsv.HEADER)
+                .contains(",Іван Петренко," + testPatient.getId() + ",Марія Іванова," + date + ",14:00,SCHEDULED,");
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/export - from пізніше за to або невідомий формат - 400")
+    void exportAppointments_InvalidRequest_ReturnsBadRequest() throws Exception {
+        LocalDate date = LocalDate.now();
+
+        mockMvc.perform(get("/api/appointments/export")
+                        .param("from", date.toString())
+                        .param("to", date.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/appointments/export")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("ndjson, csv")));
+
+        mockMvc.perform(get("/api/appointments/export")
+                        .param("from", date.toString()))
+                .andExpect(status().isBadRequest());
+    }
 }
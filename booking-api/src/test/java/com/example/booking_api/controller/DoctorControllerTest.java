@@ -17,6 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.repository.DoctorRepository;
 
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -146,6 +148,45 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[1].doctorName").value("Лікар 2"));
     }
 
+    @Test
+    @DisplayName("GET /api/doctors?size=2 - keyset-пагінація з курсором")
+    void getAllDoctors_WithPageSize_ReturnsPagesWithCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Doctor doctori = new Doctor();
+            doctori.setDoctorName("Лікар " + i);
+        doctori.setSpecialization("Терапевт");
+            doctori.setEmail("doctor" + i + "@page.example.com");
+            doctorRepository.save(doctori);
+        }
+
+        String nextCursor = mockMvc.perform(get("/api/doctors").param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].doctorName").value("Лікар 1"))
+                .andExpect(jsonPath("$[1].doctorName").value("Лікар 2"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/doctors").param("size", "2").param("cursor", nextCursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].doctorName").value("Лікар 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/doctors?cursor=... - невірний курсор - 400")
+    void getAllDoctors_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/doctors").param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("курсор")));
+    }
+
     @Test
     @DisplayName("GET /api/doctors/{id} - отримання лікаря за ID")
     void getDoctorById_ExistingId_ReturnsDoctor() throws Exception {
@@ -164,6 +205,38 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$.email").value("petro@example.com"));
     }
 
+    @Test
+    @DisplayName("GET /api/doctors/{id} з актуальним If-None-Match - 304 без тіла, після зміни - 200")
+    void getDoctorById_ConditionalGet_ReturnsNotModifiedUntilUpdated() throws Exception {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorName("Іван Петренко");
+        doctor.setSpecialization("Кардіолог");
+        doctor.setEmail("etag@example.com");
+        Doctor saved = doctorRepository.save(doctor);
+
+        String etag = mockMvc.perform(get("/api/doctors/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"doctor-" + saved.getId() + "-")))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/doctors/{id}", saved.getId()).header("If-None-Match", etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/doctors/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"specialization\": \"Терапевт\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/doctors/{id}", saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.specialization").value("Терапевт"));
+    }
+
     @Test
     @DisplayName("GET /api/doctors/999 - не знайдено - 404")
     void getDoctorById_NonExistingId_ReturnsNotFound() throws Exception {
@@ -195,6 +268,43 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("GET /api/doctors/search?mode=fuzzy - нормалізований запит, ранжування і ліміт")
+    void searchDoctorsByName_FuzzyMode_ReturnsRankedLimitedList() throws Exception {
+        for (String name : List.of("Марʼяна Петренко", "Петренко Іван", "Олег Петрук")) {
+            Doctor doctor = new Doctor();
+            doctor.setDoctorName(name);
+            doctor.setSpecialization("Терапевт");
+            doctorRepository.save(doctor);
+        }
+
+        mockMvc.perform(get("/api/doctors/search")
+                        .param("name", "  ПЕТРЕНКО ")
+                        .param("mode", "fuzzy")
+                        .param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].doctorName").value("Петренко Іван"));
+
+        mockMvc.perform(get("/api/doctors/search")
+                        .param("name", "мар'яна")
+                        .param("mode", "fuzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].doctorName").value("Марʼяна Петренко"));
+    }
+
+    @Test
+    @DisplayName("GET /api/doctors/search?mode=... - невідомий режим - 400")
+    void searchDoctorsByName_UnknownMode_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/doctors/search")
+                        .param("name", "Іван")
+                        .param("mode", "regex"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PUT /api/doctors/{id} - оновлення лікаря")
     void updateDoctor_ValidData_ReturnsUpdatedDoctor() throws Exception {
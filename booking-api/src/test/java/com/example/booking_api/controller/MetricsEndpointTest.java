@@ -0,0 +1,146 @@
+package com.example.booking_api.controller;
+
+import com.example.booking_api.dto.request.CreateAppointmentDTO;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+import com.example.booking_api.repository.AppointmentRepository;
+import com.example.booking_api.repository.DoctorRepository;
+import com.example.booking_api.repository.PatientRepository;
+import com.example.booking_api.service.BookingMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/prometheus: таймери сервісів і репозиторіїв, пул з'єднань, статистика Hibernate
+ * і лічильники конфліктів слотів та помилок валідації.
+ * Без @AutoConfigureObservability тести Spring Boot не експортують метрики; БД - окрема H2
+ * через звичайний пул Hikari, а не вбудована з @AutoConfigureTestDatabase, щоб були і метрики пулу
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private CreateAppointmentDTO request;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        doctorRepository.deleteAll();
+        patientRepository.deleteAll();
+
+        Doctor doctor = new Doctor();
+        doctor.setDoctorName("Др. Метрика");
+        doctor.setSpecialization("Терапевт");
+        doctor.setEmail("metrics@clinic.com");
+        doctor = doctorRepository.save(doctor);
+
+        Patient patient = new Patient();
+        patient.setPatientName("Пацієнт Метрика");
+        patient.setEmail("metrics@example.com");
+        patient.setPhoneNumber("+380501110022");
+        patient = patientRepository.save(patient);
+
+        request = new CreateAppointmentDTO();
+        request.setDoctorId(doctor.getId());
+        request.setPatientId(patient.getId());
+        request.setAppointmentDate(LocalDate.now().plusDays(3));
+        request.setAppointmentTime(LocalTime.of(11, 0));
+    }
+
+    @Test
+    @DisplayName("Повторне бронювання слоту і невалідні запити рахуються окремо")
+    void conflictsAndValidationFailures_AreCounted() throws Exception {
+        double conflicts = count(BookingMetrics.SLOT_CONFLICTS, "check", "index");
+        double invalidRequests = count(BookingMetrics.VALIDATION_FAILURES, "source", "request");
+        double invalidItems = count(BookingMetrics.VALIDATION_FAILURES, "source", "bulk-item");
+
+        postJson("/api/appointments", request).andExpect(status().isCreated());
+        postJson("/api/appointments", request).andExpect(status().isBadRequest());
+        postJson("/api/appointments", new CreateAppointmentDTO()).andExpect(status().isBadRequest());
+        postJson("/api/appointments/bulk", List.of(new CreateAppointmentDTO())).andExpect(status().isOk());
+
+        assertThat(count(BookingMetrics.SLOT_CONFLICTS, "check", "index")).isEqualTo(conflicts + 1);
+        assertThat(count(BookingMetrics.VALIDATION_FAILURES, "source", "request")).isEqualTo(invalidRequests + 1);
+        assertThat(count(BookingMetrics.VALIDATION_FAILURES, "source", "bulk-item")).isEqualTo(invalidItems + 1);
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - метрики сервісів, репозиторіїв, Hikari і Hibernate")
+    void prometheusScrape_ContainsApplicationMetrics() throws Exception {
+        postJson("/api/appointments", request).andExpect(status().isCreated());
+        postJson("/api/appointments", request).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/doctors")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("booking_service_seconds_count\\{[^}]*class=\"[^\"]*\\.AppointmentService\""
+                        + "[^}]*exception=\"none\"[^}]*method=\"createAppointment\"")
+                .containsPattern("booking_service_seconds_count\\{[^}]*class=\"[^\"]*\\.AppointmentService\""
+                        + "[^}]*exception=\"IllegalArgumentException\"[^}]*method=\"createAppointment\"")
+                .containsPattern("booking_service_seconds_bucket\\{[^}]*class=\"[^\"]*\\.DoctorService\"")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*repository=\"AppointmentRepository\"")
+                .containsPattern("booking_slot_conflicts_total\\{[^}]*check=\"index\"")
+                .contains("hikaricp_connections_max")
+                .contains("hibernate_query_executions_total")
+                .contains("http_server_requests_seconds_bucket");
+    }
+
+    private double count(String name, String tag, String value) {
+        Counter counter = meterRegistry.find(name).tag(tag, value).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private ResultActions postJson(String path, Object body) throws Exception {
+        return mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+}
@@ -141,6 +141,44 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$[1].patientName").value("Пацієнт 2"));
     }
 
+    @Test
+    @DisplayName("GET /api/patients?size=2 - keyset-пагінація з курсором")
+    void getAllPatients_WithPageSize_ReturnsPagesWithCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Patient patienti = new Patient();
+            patienti.setPatientName("Пацієнт " + i);
+            patienti.setEmail("patient" + i + "@page.example.com");
+            patientRepository.save(patienti);
+        }
+
+        String nextCursor = mockMvc.perform(get("/api/patients").param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].patientName").value("Пацієнт 1"))
+                .andExpect(jsonPath("$[1].patientName").value("Пацієнт 2"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/patients").param("size", "2").param("cursor", nextCursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].patientName").value("Пацієнт 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients?cursor=... - невірний курсор - 400")
+    void getAllPatients_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/patients").param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("курсор")));
+    }
+
     @Test
     @DisplayName("GET /api/patients/{id} - отримання пацієнта за ID")
     void getPatientById_ExistingId_ReturnsPatient() throws Exception {
@@ -166,6 +204,48 @@ class PatientControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Телефон 0XXXXXXXXX зберігається як +380XXXXXXXXX і знаходиться в обох форматах")
+    void createPatient_LocalPhone_StoredInCanonicalForm() throws Exception {
+        createPatientDTO.setPhoneNumber("0509876543");
+
+        mockMvc.perform(
+                        post("/api/patients")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createPatientDTO))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.phoneNumber").value("+380509876543"));
+
+        mockMvc.perform(get("/api/patients/phone/{phone}", "0509876543"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("maria@example.com"));
+        mockMvc.perform(get("/api/patients/phone/{phone}", "+380509876543"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/patients/import - CSV: валідні рядки імпортовано, решта у звіті")
+    void importPatients_Csv_ReturnsReport() throws Exception {
+        String csv = "patientName,phoneNumber,email\n"
+                + "Марія Іванова,+380509876543,maria@example.com\n"
+                + "Петро Коваль,123,petro@example.com\n";
+
+        mockMvc.perform(post("/api/patients/import").contentType("text/csv").content(csv))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(3));
+
+        assertThat(patientRepository.findByEmail("maria@example.com")).isPresent();
+
+        mockMvc.perform(post("/api/patients/import").contentType("text/csv").content("email\nmaria@example.com\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("У заголовку немає колонки patientName"));
+    }
+
     @Test
     @DisplayName("PUT /api/patients/{id} - оновлення пацієнта")
     void updatePatient_ValidData_ReturnsUpdatedPatient() throws Exception {
@@ -206,4 +286,49 @@ class PatientControllerTest {
 
         assertThat(patientRepository.existsById(saved.getId())).isFalse();
     }
+
+    @Test
+    @DisplayName("GET /api/patients/typeahead - підказки з контактами пацієнта")
+    void suggestPatients_ReturnsContacts() throws Exception {
+        Patient patient = new Patient();
+        patient.setPatientName("Олена Typeahead");
+        patient.setEmail("olena.typeahead@example.com");
+        patient.setPhoneNumber("+380631112233");
+        patientRepository.save(patient);
+
+        mockMvc.perform(get("/api/patients/typeahead")
+                        .param("query", "typeahead")
+                        .param("limit", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].patientName", is("Олена Typeahead")))
+                .andExpect(jsonPath("$[0].phoneNumber", is("+380631112233")))
+                .andExpect(jsonPath("$[0].email", is("olena.typeahead@example.com")));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/typeahead - порожній запит повертає 400")
+    void suggestPatients_BlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/patients/typeahead").param("query", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/{id} з If-Modified-Since не раніше зміни - 304")
+    void getPatientById_IfModifiedSince_ReturnsNotModified() throws Exception {
+        Patient patient = new Patient();
+        patient.setPatientName("Пацієнт ETag");
+        patient.setEmail("etag.patient@example.com");
+        Patient saved = patientRepository.save(patient);
+
+        String lastModified = mockMvc.perform(get("/api/patients/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/patients/{id}", saved.getId()).header("If-Modified-Since", lastModified))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.booking_api.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchName Unit Tests")
+class SearchNameTest {
+
+    @Test
+    @DisplayName("Регістр і зайві пробіли")
+    void normalize_LowercasesAndCollapsesWhitespace() {
+        assertThat(SearchName.normalize("  ІВАН \t ПЕТРЕНКО  ")).isEqualTo("іван петренко");
+    }
+
+    @Test
+    @DisplayName("Усі варіанти апострофа зводяться до одного")
+    void normalize_UnifiesApostrophes() {
+        assertThat(SearchName.normalize("Мар’яна")).isEqualTo("мар'яна");
+        assertThat(SearchName.normalize("Марʼяна")).isEqualTo("мар'яна");
+        assertThat(SearchName.normalize("Мар`яна")).isEqualTo("мар'яна");
+        assertThat(SearchName.normalize("Мар´яна")).isEqualTo("мар'яна");
+    }
+
+    @Test
+    @DisplayName("Ґ/г, ё/е, знаки наголосу і тире")
+    void normalize_FoldsCyrillicVariants() {
+        assertThat(SearchName.normalize("Ґалаґан")).isEqualTo("галаган");
+        assertThat(SearchName.normalize("Сёмин")).isEqualTo("семин");
+        assertThat(SearchName.normalize("Окса́на")).isEqualTo("оксана");
+        assertThat(SearchName.normalize("Квітка–Основʼяненко")).isEqualTo("квітка-основ'яненко");
+    }
+
+    @Test
+    @DisplayName("Й та Ї не втрачають діакритику")
+    void normalize_KeepsLettersWithDiacritics() {
+        assertThat(SearchName.normalize("ЙОСИП ЇЖАКЕВИЧ")).isEqualTo("йосип їжакевич");
+    }
+
+    @Test
+    @DisplayName("null лишається null")
+    void normalize_Null_ReturnsNull() {
+        assertThat(SearchName.normalize(null)).isNull();
+    }
+}
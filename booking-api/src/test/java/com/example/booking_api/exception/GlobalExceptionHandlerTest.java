@@ -2,8 +2,11 @@ package com.example.booking_api.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,4 +37,30 @@ class GlobalExceptionHandlerTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
+
+    @Test
+    void shouldHandleOptimisticLockingFailureAsConflict() {
+        // Given
+        ObjectOptimisticLockingFailureException exception =
+                new ObjectOptimisticLockingFailureException(Object.class, 1L);
+
+        // When
+        ResponseEntity<?> response = handler.handleOptimisticLockingFailure(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void shouldHandleDatabaseUnavailableAsServiceUnavailable() {
+        // Given
+        CannotGetJdbcConnectionException exception = new CannotGetJdbcConnectionException("Pool exhausted");
+
+        // When
+        ResponseEntity<?> response = handler.handleDatabaseUnavailable(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
 }
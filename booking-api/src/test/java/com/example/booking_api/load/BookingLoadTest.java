@@ -0,0 +1,454 @@
+package com.example.booking_api.load;
+
+import com.example.booking_api.BookingApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Наскрізне навантаження на PostgreSQL: застосунок з продакшн-налаштуваннями (Flyway, pg_trgm,
+ * кеш другого рівня), наповнена БД і змішаний потік запитів. Для кожного endpoint друкує
+ * пропускну здатність і p50/p95/p99, таблиця також пишеться в target/load-report.csv.
+ *
+ * Не входить у звичайний mvn test; запуск: mvn test -Pload -Dtest=BookingLoadTest.
+ * БД - контейнер postgres:16-alpine (Testcontainers, як у BaseIntegrationTest) або, з load.jdbcUrl,
+ * наявна PostgreSQL (load.dbUser, load.dbPassword); у ній лишаються дані прогону, тож краще окрема БД.
+ *
+ * Параметри - системні властивості: load.clients, load.seconds, load.warmupSeconds, load.doctors,
+ * load.patients, load.appointments, load.hotSlots, load.holdMillis; load.args - додаткові аргументи Spring через пробіл
+ * (наприклад, "--spring.threads.virtual.enabled=true").
+ *
+ * Кожен клієнт на кожному кроці обирає сценарій за вагою:
+ * 30% - бронювання одного з load.hotSlots "гарячих" слотів (переможець тримає слот load.holdMillis
+ * і скасовує запис, щоб слот знову розіграли; 400 "час зайнятий" - очікувана відмова), 20% - розклад лікаря,
+ * 10% - сторінка пацієнтів, 15% - нечіткий пошук за прізвищем, 15% - typeahead,
+ * 10% - вільні слоти лікаря на тиждень.
+ *
+ * Кожне успішне бронювання гарячого слоту запам'ятовується з часом отримання 201 і часом відправки
+ * скасування - між ними запис гарантовано займає слот. Якщо такі проміжки двох записів одного слоту
+ * перетинаються, слот було заброньовано двічі, навіть коли обидва записи згодом скасовано
+ */
+@Tag("load")
+@DisplayName("Навантаження: змішаний сценарій на PostgreSQL")
+class BookingLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+    private static final int DOCTORS = Integer.getInteger("load.doctors", 200);
+    private static final int PATIENTS = Integer.getInteger("load.patients", 50_000);
+    private static final int APPOINTMENTS = Integer.getInteger("load.appointments", 100_000);
+    private static final int HOT_SLOTS = Integer.getInteger("load.hotSlots", 5);
+    private static final int HOLD_MILLIS = Integer.getInteger("load.holdMillis", 20);
+    private static final String JDBC_URL = System.getProperty("load.jdbcUrl");
+    private static final String EXTRA_ARGS = System.getProperty("load.args", "");
+
+    /** Слоти наповнення: 09:00-17:30 кожні 30 хв. Гарячі слоти - о 10:05, поза цією сіткою */
+    private static final int SLOTS_PER_DAY = 18;
+    private static final LocalTime HOT_TIME = LocalTime.of(10, 5);
+
+    private static final String[] SURNAMES = {"Коваленко", "Бондаренко", "Ткаченко", "Шевченко", "Кравченко",
+            "Олійник", "Шевчук", "Поліщук", "Бойко", "Мельник", "Савченко", "Петренко", "Марченко", "Руденко",
+            "Лисенко", "Мороз", "Гончаренко", "Павленко", "Кузьменко", "Литвиненко"};
+    private static final String[] FIRST_NAMES = {"Олександр", "Андрій", "Іван", "Марія", "Олена", "Наталія",
+            "Дмитро", "Сергій", "Юлія", "Тетяна", "Мар'яна", "Ярослав", "Оксана", "Богдан", "Ґанна"};
+    private static final String[] SPECIALIZATIONS = {"Терапевт", "Кардіолог", "Невролог", "Педіатр",
+            "Хірург", "Офтальмолог", "Дерматолог", "Ендокринолог"};
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** Сценарії з вагами (у сумі 20) */
+    private enum Scenario {
+        BOOK(6), SCHEDULE(4), PATIENTS_PAGE(2), SEARCH(3), TYPEAHEAD(3), AVAILABILITY(2);
+
+        private final int weight;
+
+        Scenario(int weight) {
+            this.weight = weight;
+        }
+
+        static Scenario pick(int roll) {
+            for (Scenario scenario : values()) {
+                roll -= scenario.weight;
+                if (roll < 0) {
+                    return scenario;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        PostgreSQLContainer<?> postgres = null;
+        String url = JDBC_URL;
+        String user = System.getProperty("load.dbUser", "postgres");
+        String password = System.getProperty("load.dbPassword", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("loaddb")
+                    .withUsername("load")
+                    .withPassword("load");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            user = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.flyway.enabled=true",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=true",
+                "--booking.search.trigram=true",
+                "--booking.sql.budget.fail-on-exceed=false",
+                "--logging.level.com.example.booking_api=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        Arrays.stream(EXTRA_ARGS.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).forEach(args::add);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingApiApplication.class)
+                .run(args.toArray(new String[0]));
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Api api = new Api(client, "http://localhost:" + port);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+            String run = Long.toString(System.currentTimeMillis(), 36);
+            long seedStarted = System.nanoTime();
+            Dataset data = seed(api, jdbc, run);
+            System.out.printf("%nНаповнення: %d лікарів, %d пацієнтів, %d записів за %d с%n",
+                    data.doctorIds().length, data.patientCount(), data.appointmentCount(),
+                    Duration.ofNanos(System.nanoTime() - seedStarted).toSeconds());
+
+            Queue<HotBooking> hotBookings = new ConcurrentLinkedQueue<>();
+            Map<String, LatencyRecorder> totals = drive(api, data, hotBookings);
+            report(totals);
+
+            for (LatencyRecorder recorder : totals.values()) {
+                assertThat(recorder.answered()).as("%s: відповіді", recorder.endpoint()).isPositive();
+                assertThat(recorder.failed()).as("%s: помилки, крім 503", recorder.endpoint()).isZero();
+            }
+            // Жоден гарячий слот не мав двох активних записів одночасно - і серед уже скасованих
+            assertThat(hotBookings).as("успішні бронювання гарячих слотів").isNotEmpty();
+            assertThat(overlapping(hotBookings)).as("одночасно активні бронювання гарячих слотів").isEmpty();
+            String hotDoctors = Arrays.stream(data.doctorIds()).limit(HOT_SLOTS)
+                    .mapToObj(Long::toString).collect(Collectors.joining(","));
+            Integer hotRows = jdbc.queryForObject(
+                    "SELECT count(*) FROM appointments WHERE appointment_date = ? AND appointment_time = ? " +
+                            "AND doctor_id IN (" + hotDoctors + ")",
+                    Integer.class, data.hotDate(), HOT_TIME);
+            assertThat(hotRows).as("записи гарячих слотів у БД, разом зі скасованими").isEqualTo(hotBookings.size());
+
+            // І наприкінці на гарячому слоті не лишилось двох активних записів
+            Integer doubleBooked = jdbc.queryForObject(
+                    "SELECT count(*) FROM (SELECT doctor_id FROM appointments " +
+                            "WHERE appointment_date = ? AND appointment_time = ? AND status <> 'CANCELLED' " +
+                            "GROUP BY doctor_id HAVING count(*) > 1) d",
+                    Integer.class, data.hotDate(), HOT_TIME);
+            assertThat(doubleBooked).as("подвійні бронювання гарячих слотів").isZero();
+        } finally {
+            context.close();
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    // ========== НАПОВНЕННЯ ==========
+
+    private record Dataset(long[] doctorIds, long[] patientIds, int patientCount, int appointmentCount,
+                           LocalDate hotDate) {
+    }
+
+    private static Dataset seed(Api api, JdbcTemplate jdbc, String run) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long[] doctorIds = new long[DOCTORS];
+        for (int i = 0; i < DOCTORS; i++) {
+            String body = JSON.writeValueAsString(Map.of(
+                    "doctorName", "Др. " + SURNAMES[i % SURNAMES.length] + " " + FIRST_NAMES[i % FIRST_NAMES.length],
+                    "specialization", SPECIALIZATIONS[i % SPECIALIZATIONS.length],
+                    "email", "doctor" + i + "@" + run + ".load"));
+            doctorIds[i] = api.post("/api/doctors", "application/json", body, 201).get("id").asLong();
+        }
+
+        // Пацієнти - через CSV-імпорт (COPY), як їх завантажували б з іншої системи
+        StringBuilder csv = new StringBuilder("patientName,phoneNumber,email\n");
+        long phoneBase = Long.parseLong(run, 36) % 10_000_000;
+        for (int i = 0; i < PATIENTS; i++) {
+            csv.append(SURNAMES[random.nextInt(SURNAMES.length)]).append(' ')
+                    .append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(',')
+                    .append("+38067").append(String.format("%07d", (phoneBase + i) % 10_000_000)).append(',')
+                    .append("patient").append(i).append('@').append(run).append(".load\n");
+        }
+        JsonNode imported = api.post("/api/patients/import", "text/csv", csv.toString(), 200);
+        long[] patientIds = jdbc.queryForList("SELECT id FROM patients WHERE email LIKE ?", Long.class,
+                "%@" + run + ".load").stream().mapToLong(Long::longValue).toArray();
+        assertThat(patientIds).as("імпортовані пацієнти: %s", imported.get("rejections")).isNotEmpty();
+
+        // Записи: у кожного лікаря - послідовні дні, починаючи із завтра, по SLOTS_PER_DAY слотів
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        int perDoctor = (APPOINTMENTS + DOCTORS - 1) / DOCTORS;
+        int created = 0;
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int slot = 0; slot < perDoctor && created + batch.size() < APPOINTMENTS; slot++) {
+            for (int d = 0; d < DOCTORS && created + batch.size() < APPOINTMENTS; d++) {
+                batch.add(Map.of(
+                        "doctorId", doctorIds[d],
+                        "patientId", patientIds[random.nextInt(patientIds.length)],
+                        "appointmentDate", firstDay.plusDays(slot / SLOTS_PER_DAY).toString(),
+                        "appointmentTime", LocalTime.of(9, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY)).toString()));
+                if (batch.size() == 1000) {
+                    created += bulk(api, batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += bulk(api, batch);
+        }
+        return new Dataset(doctorIds, patientIds, patientIds.length, created, firstDay);
+    }
+
+    private static int bulk(Api api, List<Map<String, Object>> batch) throws Exception {
+        JsonNode result = api.post("/api/appointments/bulk", "application/json", JSON.writeValueAsString(batch), 200);
+        batch.clear();
+        return result.get("created").asInt();
+    }
+
+    // ========== НАВАНТАЖЕННЯ ==========
+
+    private static Map<String, LatencyRecorder> drive(Api api, Dataset data, Queue<HotBooking> hotBookings)
+            throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+        long end = measureFrom + Duration.ofSeconds(SECONDS).toNanos();
+
+        List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> client(api, data, hotBookings, measureFrom, end)));
+            }
+        }
+
+        Map<String, LatencyRecorder> totals = recorders();
+        for (Future<Map<String, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) -> totals.get(endpoint).merge(recorder));
+        }
+        return totals;
+    }
+
+    private static Map<String, LatencyRecorder> recorders() {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        Stream.of(new LatencyRecorder("POST /appointments", 400, 409),
+                new LatencyRecorder("PATCH /appointments/{id}/cancel"),
+                new LatencyRecorder("GET /appointments/doctor/{id}"),
+                new LatencyRecorder("GET /patients"),
+                new LatencyRecorder("GET /patients/search"),
+                new LatencyRecorder("GET /patients/typeahead"),
+                new LatencyRecorder("GET /availability/doctor/{id}"))
+                .forEach(recorder -> recorders.put(recorder.endpoint(), recorder));
+        return recorders;
+    }
+
+    private static Map<String, LatencyRecorder> client(Api api, Dataset data, Queue<HotBooking> hotBookings,
+                                                       long measureFrom, long end) {
+        Map<String, LatencyRecorder> recorders = recorders();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            long doctorId = data.doctorIds()[random.nextInt(data.doctorIds().length)];
+            Timed response = switch (Scenario.pick(random.nextInt(20))) {
+                case BOOK -> {
+                    long hotDoctor = data.doctorIds()[random.nextInt(Math.min(HOT_SLOTS, data.doctorIds().length))];
+                    String body = "{\"doctorId\":" + hotDoctor
+                            + ",\"patientId\":" + data.patientIds()[random.nextInt(data.patientIds().length)]
+                            + ",\"appointmentDate\":\"" + data.hotDate() + "\",\"appointmentTime\":\"" + HOT_TIME + "\"}";
+                    Timed booked = api.timed("POST /appointments", api.request("/api/appointments")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)));
+                    record(recorders, booked, measureFrom);
+                    if (booked.status() != 201) {
+                        yield null;
+                    }
+                    long bookedAt = System.nanoTime();
+                    String id = booked.body().replaceAll("(?s).*?\"id\"\\s*:\\s*(\\d+).*", "$1");
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(HOLD_MILLIS));
+                    long releasedFrom = System.nanoTime();
+                    Timed cancelled = api.timed("PATCH /appointments/{id}/cancel",
+                            api.request("/api/appointments/" + id + "/cancel")
+                                    .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+                    // Нескасований запис займає слот до кінця прогону
+                    hotBookings.add(new HotBooking(hotDoctor, Long.parseLong(id), bookedAt,
+                            cancelled.status() == 204 ? releasedFrom : Long.MAX_VALUE));
+                    yield cancelled;
+                }
+                case SCHEDULE -> api.timed("GET /appointments/doctor/{id}",
+                        api.request("/api/appointments/doctor/" + doctorId).GET());
+                case PATIENTS_PAGE -> api.timed("GET /patients", api.request("/api/patients?size=50").GET());
+                case SEARCH -> api.timed("GET /patients/search", api.request("/api/patients/search?mode=fuzzy&name="
+                        + encode(SURNAMES[random.nextInt(SURNAMES.length)])).GET());
+                case TYPEAHEAD -> {
+                    String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+                    yield api.timed("GET /patients/typeahead", api.request("/api/patients/typeahead?query="
+                            + encode(surname.substring(0, 2 + random.nextInt(surname.length() - 2)))).GET());
+                }
+                case AVAILABILITY -> api.timed("GET /availability/doctor/{id}",
+                        api.request("/api/appointments/availability/doctor/" + doctorId
+                                + "?from=" + data.hotDate() + "&to=" + data.hotDate().plusDays(6)).GET());
+            };
+            if (response != null) {
+                record(recorders, response, measureFrom);
+            }
+        }
+        return recorders;
+    }
+
+    /**
+     * Бронювання, слоти яких були зайняті одночасно: у межах лікаря проміжки [bookedAt, releasedFrom],
+     * впорядковані за початком, не повинні починатися раніше, ніж закінчився будь-який попередній
+     */
+    private static List<String> overlapping(Collection<HotBooking> hotBookings) {
+        List<String> overlaps = new ArrayList<>();
+        hotBookings.stream()
+                .collect(Collectors.groupingBy(HotBooking::doctorId))
+                .forEach((doctorId, bookings) -> {
+                    bookings.sort(Comparator.comparingLong(HotBooking::bookedAt));
+                    HotBooking holder = null;
+                    for (HotBooking booking : bookings) {
+                        if (holder != null && booking.bookedAt() < holder.releasedFrom()) {
+                            overlaps.add("лікар " + doctorId + ": запис " + booking.appointmentId()
+                                    + " створено, поки слот займав запис " + holder.appointmentId());
+                        }
+                        if (holder == null || booking.releasedFrom() > holder.releasedFrom()) {
+                            holder = booking;
+                        }
+                    }
+                });
+        return overlaps;
+    }
+
+    private static void record(Map<String, LatencyRecorder> recorders, Timed response, long measureFrom) {
+        if (response.sentAt() >= measureFrom) {
+            recorders.get(response.endpoint()).record(response.status(), response.nanos());
+        }
+    }
+
+    private static void report(Map<String, LatencyRecorder> totals) throws IOException {
+        String header = String.format("%-32s %9s %9s %8s %6s %7s %8s %8s %8s",
+                "endpoint", "запитів", "запитів/с", "відмов", "503", "помилок", "p50, мс", "p95, мс", "p99, мс");
+        System.out.printf("%n%d клієнтів, %d с (+%d с розігріву)%n%s%n", CLIENTS, SECONDS, WARMUP_SECONDS, header);
+        Path csv = Path.of("target", "load-report.csv");
+        Files.createDirectories(csv.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            out.println("endpoint,requests,rps,rejected,unavailable,failed,p50_ms,p95_ms,p99_ms");
+            for (LatencyRecorder r : totals.values()) {
+                double rps = r.answered() / (double) SECONDS;
+                System.out.printf("%-32s %9d %9.1f %8d %6d %7d %8.1f %8.1f %8.1f%n",
+                        r.endpoint(), r.answered(), rps, r.rejected(), r.unavailable(), r.failed(),
+                        r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99));
+                out.printf(Locale.ROOT, "%s,%d,%.1f,%d,%d,%d,%.2f,%.2f,%.2f%n",
+                        r.endpoint(), r.answered(), rps, r.rejected(), r.unavailable(), r.failed(),
+                        r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99));
+            }
+        }
+        System.out.println("Звіт: " + csv.toAbsolutePath());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Успішне бронювання гарячого слоту; з bookedAt (отримано 201) до releasedFrom (відправлено скасування)
+     * слот гарантовано зайнятий цим записом. Long.MAX_VALUE - запис не скасовано
+     */
+    private record HotBooking(long doctorId, long appointmentId, long bookedAt, long releasedFrom) {
+    }
+
+    // ========== HTTP ==========
+
+    private record Timed(String endpoint, int status, String body, long sentAt, long nanos) {
+    }
+
+    private record Api(HttpClient client, String base) {
+
+        HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(60));
+        }
+
+        Timed timed(String endpoint, HttpRequest.Builder request) {
+            long sent = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (Exception e) {
+                status = -1;
+            }
+            return new Timed(endpoint, status, body, sent, System.nanoTime() - sent);
+        }
+
+        JsonNode post(String path, String contentType, String body, int expectedStatus) throws Exception {
+            HttpResponse<String> response = client.send(request(path)
+                    .timeout(Duration.ofMinutes(10))
+                    .header("Content-Type", contentType)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as("POST %s: %s", path, response.body()).isEqualTo(expectedStatus);
+            return JSON.readTree(response.body());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.booking_api.load;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Лічильники і затримки відповідей одного endpoint у тестах навантаження. Один екземпляр - на
+ * одного клієнта (без синхронізації), після прогону екземпляри клієнтів зливаються через merge.
+ *
+ * 2xx - успіх; статуси з expectedRejections (наприклад, 400 "час зайнятий" при боротьбі за слот) -
+ * очікувана відмова, її затримка теж враховується; 503 - перевантаження; решта - помилки
+ */
+final class LatencyRecorder {
+
+    private final String endpoint;
+    private final Set<Integer> expectedRejections;
+
+    private long[] latencies = new long[1024];
+    private int answered;
+    private int ok;
+    private int rejected;
+    private int unavailable;
+    private int failed;
+    private long[] sorted;
+
+    LatencyRecorder(String endpoint, Integer... expectedRejections) {
+        this.endpoint = endpoint;
+        this.expectedRejections = Set.of(expectedRejections);
+    }
+
+    void record(int status, long nanos) {
+        if (status >= 200 && status < 300) {
+            ok++;
+        } else if (expectedRejections.contains(status)) {
+            rejected++;
+        } else if (status == 503) {
+            unavailable++;
+            return;
+        } else {
+            failed++;
+            return;
+        }
+        add(nanos);
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.answered; i++) {
+            add(other.latencies[i]);
+        }
+        ok += other.ok;
+        rejected += other.rejected;
+        unavailable += other.unavailable;
+        failed += other.failed;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int ok() {
+        return ok;
+    }
+
+    int rejected() {
+        return rejected;
+    }
+
+    int unavailable() {
+        return unavailable;
+    }
+
+    int failed() {
+        return failed;
+    }
+
+    /** Успішні відповіді й очікувані відмови */
+    int answered() {
+        return answered;
+    }
+
+    double percentileMillis(double percentile) {
+        if (answered == 0) {
+            return Double.NaN;
+        }
+        if (sorted == null) {
+            sorted = Arrays.copyOf(latencies, answered);
+            Arrays.sort(sorted);
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private void add(long nanos) {
+        if (answered == latencies.length) {
+            latencies = Arrays.copyOf(latencies, answered * 2);
+        }
+        latencies[answered++] = nanos;
+        sorted = null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.booking_api.load;
+
+import com.example.booking_api.BookingApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Обсяг логу і його ціна для запитів: логування за замовчуванням (application.yml) проти профілю prod.
+ *
+ * Не входить у звичайний mvn test; запуск: mvn test -Pload -Dtest=LogVolumeLoadTest.
+ * Параметри - системні властивості: load.clients, load.seconds, load.warmupSeconds, load.rounds.
+ *
+ * Режими (БД - H2, той самий набір читань лікаря, його записів і пошуку пацієнтів):
+ * sql - як у application.yml: show-sql з форматуванням, org.hibernate.SQL і пакет застосунку на DEBUG;
+ * sql+bind - те саме плюс параметри запитів (org.hibernate.orm.jdbc.bind=TRACE);
+ * prod - профіль prod: JSON через асинхронний апендер, лише повільні запити.
+ * На час вимірювання System.out підміняється потоком, що лише рахує байти і рядки, - вимірюється
+ * обсяг логу і вплив форматування, а не швидкість терміналу. Кожен прогін - новий контекст, і
+ * Spring Boot щоразу заново налаштовує Logback за logback-spring.xml і активними профілями
+ */
+@Tag("load")
+@DisplayName("Навантаження: обсяг логу за замовчуванням vs профіль prod")
+class LogVolumeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 50);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 3);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 2);
+    private static final int APPOINTMENTS = 10;
+
+    private enum Mode {
+        SQL("sql", "--spring.jpa.show-sql=true",
+                "--logging.level.org.hibernate.SQL=DEBUG",
+                "--logging.level.com.example.booking_api=DEBUG"),
+        SQL_BIND("sql+bind", "--spring.jpa.show-sql=true",
+                "--logging.level.org.hibernate.SQL=DEBUG",
+                "--logging.level.org.hibernate.orm.jdbc.bind=TRACE",
+                "--logging.level.com.example.booking_api=DEBUG"),
+        PROD("prod", "--spring.profiles.active=prod");
+
+        private final String label;
+        private final String[] args;
+
+        Mode(String label, String... args) {
+            this.label = label;
+            this.args = args;
+        }
+    }
+
+    @Test
+    void compareLogVolume() throws Exception {
+        // Холостий прогін: інакше перший режим платить за JIT усієї JVM, а не лише за свій лог
+        run(Mode.SQL);
+
+        // JIT прискорює кожен наступний прогін - порядок режимів чергується (прямий, зворотний)
+        Map<Mode, Result> results = new EnumMap<>(Mode.class);
+        List<Mode> order = new ArrayList<>(List.of(Mode.values()));
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Mode mode : order) {
+                results.merge(mode, run(mode), Result::merge);
+            }
+            Collections.reverse(order);
+        }
+
+        System.out.printf("%n%d клієнтів, %d x %d с (+%d с розігріву)%n", CLIENTS, ROUNDS, SECONDS, WARMUP_SECONDS);
+        System.out.printf("%-10s %10s %10s %10s %10s %12s %12s %12s%n",
+                "режим", "запитів", "запитів/с", "p50, мс", "p99, мс", "лог, КБ", "рядків/запит", "байт/запит");
+        results.forEach((mode, result) -> {
+            LatencyRecorder recorder = result.recorder();
+            System.out.printf("%-10s %10d %10.0f %10.1f %10.1f %12.0f %12.1f %12.0f%n",
+                    mode.label, recorder.ok(), recorder.ok() / (double) (SECONDS * ROUNDS),
+                    recorder.percentileMillis(0.50), recorder.percentileMillis(0.99), result.bytes() / 1024.0,
+                    result.lines() / (double) recorder.ok(), result.bytes() / (double) recorder.ok());
+        });
+
+        results.forEach((mode, result) -> {
+            assertThat(result.recorder().ok()).as("%s: успішні відповіді", mode.label).isPositive();
+            assertThat(result.recorder().failed()).as("%s: помилки", mode.label).isZero();
+        });
+        assertThat(results.get(Mode.PROD).bytesPerRequest())
+                .as("байт логу на запит у prod")
+                .isLessThan(results.get(Mode.SQL).bytesPerRequest());
+    }
+
+    private Result run(Mode mode) throws Exception {
+        String[] args = Stream.concat(Stream.of("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:log-" + mode.name() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--booking.sql.budget.fail-on-exceed=false"), Stream.of(mode.args))
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingApiApplication.class).run(args);
+        PrintStream stdout = System.out;
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            List<URI> uris = seed(client, base);
+
+            CountingStream counting = new CountingStream();
+            System.setOut(new PrintStream(counting, true, StandardCharsets.UTF_8));
+
+            long start = System.nanoTime();
+            long measureFrom = start + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+            long end = measureFrom + Duration.ofSeconds(SECONDS).toNanos();
+
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            long bytesFrom;
+            long linesFrom;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    int offset = i;
+                    futures.add(clients.submit(() -> drive(client, uris, offset, measureFrom, end)));
+                }
+                TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+                bytesFrom = counting.bytes.sum();
+                linesFrom = counting.lines.sum();
+            }
+            // Асинхронний апендер prod дописує чергу вже після останньої відповіді
+            TimeUnit.MILLISECONDS.sleep(500);
+
+            LatencyRecorder total = new LatencyRecorder(mode.label);
+            for (Future<LatencyRecorder> future : futures) {
+                total.merge(future.get());
+            }
+            return new Result(total, counting.bytes.sum() - bytesFrom, counting.lines.sum() - linesFrom);
+        } finally {
+            System.setOut(stdout);
+            context.close();
+        }
+    }
+
+    /**
+     * Лікар, пацієнт і кілька записів до лікаря; повертає адреси, які клієнти читають по колу
+     */
+    private static List<URI> seed(HttpClient client, String base) throws Exception {
+        String doctor = post(client, base + "/api/doctors",
+                "{\"doctorName\":\"Др. Журнал\",\"specialization\":\"Терапевт\",\"email\":\"log@clinic.ua\"}");
+        String patient = post(client, base + "/api/patients",
+                "{\"patientName\":\"Петро Журнал\",\"phoneNumber\":\"+380501112233\",\"email\":\"petro@log.ua\"}");
+        String doctorId = id(doctor);
+        String patientId = id(patient);
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            post(client, base + "/api/appointments", "{\"doctorId\":" + doctorId + ",\"patientId\":" + patientId
+                    + ",\"appointmentDate\":\"" + day + "\",\"appointmentTime\":\""
+                    + LocalTime.of(9, 0).plusMinutes(30L * i) + "\"}");
+        }
+        return List.of(URI.create(base + "/api/doctors/" + doctorId),
+                URI.create(base + "/api/appointments/doctor/" + doctorId),
+                URI.create(base + "/api/patients/search?name=" + URLEncoder.encode("петр", StandardCharsets.UTF_8)));
+    }
+
+    private static LatencyRecorder drive(HttpClient client, List<URI> uris, int offset, long measureFrom, long end) {
+        LatencyRecorder recorder = new LatencyRecorder("client");
+        for (int i = offset; System.nanoTime() < end; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                    .timeout(Duration.ofSeconds(60)).GET().build();
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            if (sent >= measureFrom) {
+                recorder.record(status, System.nanoTime() - sent);
+            }
+        }
+        return recorder;
+    }
+
+    private static String post(HttpClient client, String url, String json) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("POST %s: %s", url, response.body()).isEqualTo(201);
+        return response.body();
+    }
+
+    private static String id(String json) {
+        return json.replaceAll("(?s).*?\"id\"\\s*:\\s*(\\d+).*", "$1");
+    }
+
+    // ========== ВИМІРЮВАННЯ ==========
+
+    private record Result(LatencyRecorder recorder, long bytes, long lines) {
+
+        Result merge(Result other) {
+            recorder.merge(other.recorder);
+            return new Result(recorder, bytes + other.bytes, lines + other.lines);
+        }
+
+        double bytesPerRequest() {
+            return bytes / (double) recorder.ok();
+        }
+    }
+
+    /**
+     * Замість stdout: лише рахує байти і переведення рядків
+     */
+    private static final class CountingStream extends OutputStream {
+
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder lines = new LongAdder();
+
+        @Override
+        public void write(int b) {
+            bytes.increment();
+            if (b == '\n') {
+                lines.increment();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes.add(len);
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.booking_api.load;
+
+import com.example.booking_api.BookingApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Порівняння пропускної здатності і p99 у режимах платформних і віртуальних потоків.
+ *
+ * Не входить у звичайний mvn test; запуск: mvn test -Pload.
+ * Параметри - системні властивості: load.clients, load.seconds, load.warmupSeconds,
+ * load.dbLatencyMs, load.poolSize, load.tomcatThreads.
+ *
+ * БД - H2, тож очікування PostgreSQL імітується затримкою load.dbLatencyMs перед кожним
+ * виконанням запиту (потік і з'єднання в цей час зайняті, як під час справжнього запиту).
+ * Половина клієнтів читає лікаря (GET /api/doctors/{id}, два запити до БД), половина - підказки
+ * пацієнтів (GET /api/patients/typeahead, лише пам'ять). З платформними потоками запити до БД,
+ * що чекають на з'єднання, займають потоки Tomcat і затримують typeahead; з віртуальними -
+ * чекають лише на семафор з'єднань.
+ */
+@Tag("load")
+@DisplayName("Навантаження: платформні vs віртуальні потоки")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 3);
+    private static final int DB_LATENCY_MS = Integer.getInteger("load.dbLatencyMs", 20);
+    private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 10);
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcatThreads", 200);
+
+    @Test
+    void compareModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.addAll(run(virtual));
+        }
+
+        System.out.printf("%n%d клієнтів, %d с (+%d с розігріву), затримка БД %d мс, пул %d, потоків Tomcat %d%n",
+                CLIENTS, SECONDS, WARMUP_SECONDS, DB_LATENCY_MS, POOL_SIZE, TOMCAT_THREADS);
+        System.out.printf("%-10s %-10s %10s %10s %10s %10s %8s%n",
+                "режим", "endpoint", "запитів", "запитів/с", "p50, мс", "p99, мс", "503");
+        for (Result result : results) {
+            LatencyRecorder recorder = result.recorder();
+            System.out.printf("%-10s %-10s %10d %10.0f %10.1f %10.1f %8d%n",
+                    result.mode(), recorder.endpoint(), recorder.ok(), recorder.ok() / (double) SECONDS,
+                    recorder.percentileMillis(0.50), recorder.percentileMillis(0.99), recorder.unavailable());
+        }
+
+        for (Result result : results) {
+            LatencyRecorder recorder = result.recorder();
+            assertThat(recorder.ok()).as("%s %s: успішні відповіді", result.mode(), recorder.endpoint()).isPositive();
+            assertThat(recorder.failed()).as("%s %s: помилки, крім 503", result.mode(), recorder.endpoint()).isZero();
+        }
+    }
+
+    private List<Result> run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingApiApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DbLatencyPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--booking.search.patient-index.enabled=true",
+                        "--logging.level.com.example.booking_api=INFO",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+
+            String doctor = post(client, base + "/api/doctors",
+                    "{\"doctorName\":\"Др. Навантаження\",\"specialization\":\"Терапевт\",\"email\":\"load@clinic.ua\"}");
+            post(client, base + "/api/patients",
+                    "{\"patientName\":\"Петро Навантаження\",\"phoneNumber\":\"+380501112233\",\"email\":\"petro@load.ua\"}");
+            String doctorId = doctor.replaceAll("(?s).*?\"id\"\\s*:\\s*(\\d+).*", "$1");
+
+            URI doctorUri = URI.create(base + "/api/doctors/" + doctorId);
+            URI typeaheadUri = URI.create(base + "/api/patients/typeahead?query="
+                    + URLEncoder.encode("петр", StandardCharsets.UTF_8));
+
+            long start = System.nanoTime();
+            long measureFrom = start + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+            long end = measureFrom + Duration.ofSeconds(SECONDS).toNanos();
+
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    URI uri = i % 2 == 0 ? doctorUri : typeaheadUri;
+                    String endpoint = i % 2 == 0 ? "doctor" : "typeahead";
+                    futures.add(clients.submit(() -> drive(client, uri, endpoint, measureFrom, end)));
+                }
+            }
+
+            LatencyRecorder doctors = new LatencyRecorder("doctor");
+            LatencyRecorder typeahead = new LatencyRecorder("typeahead");
+            for (Future<LatencyRecorder> future : futures) {
+                LatencyRecorder recorder = future.get();
+                (recorder.endpoint().equals("doctor") ? doctors : typeahead).merge(recorder);
+            }
+            return List.of(new Result(mode, doctors), new Result(mode, typeahead));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static LatencyRecorder drive(HttpClient client, URI uri, String endpoint, long measureFrom, long end) {
+        LatencyRecorder recorder = new LatencyRecorder(endpoint);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        while (System.nanoTime() < end) {
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            if (sent >= measureFrom) {
+                recorder.record(status, System.nanoTime() - sent);
+            }
+        }
+        return recorder;
+    }
+
+    private static String post(HttpClient client, String url, String json) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("POST %s: %s", url, response.body()).isEqualTo(201);
+        return response.body();
+    }
+
+    // ========== ВИМІРЮВАННЯ ==========
+
+    private record Result(String mode, LatencyRecorder recorder) {
+    }
+
+    // ========== ІМІТАЦІЯ ЗАТРИМКИ БД ==========
+
+    /**
+     * Обгортає DataSource: кожне виконання PreparedStatement спершу чекає load.dbLatencyMs
+     */
+    private static final class DbLatencyPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return delayed(super.getConnection(), Connection.class);
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private static <T> T delayed(T target, Class<T> type) {
+            Object proxy = Proxy.newProxyInstance(VirtualThreadLoadTest.class.getClassLoader(), new Class<?>[]{type},
+                    (self, method, args) -> {
+                        String name = method.getName();
+                        if (target instanceof Statement && name.startsWith("execute")) {
+                            Thread.sleep(DB_LATENCY_MS);
+                        }
+                        try {
+                            Object result = method.invoke(target, args);
+                            if (result instanceof PreparedStatement statement && name.startsWith("prepare")) {
+                                return delayed(statement, PreparedStatement.class);
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+            return type.cast(proxy);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.booking_api.mapper;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.Appointment;
+import com.example.booking_api.entity.AppointmentStatus;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentMapperTest {
+
+    private final AppointmentMapper mapper = new AppointmentMapper();
+
+    @Test
+    void shouldConvertEntityToDTO() {
+        // Given
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        doctor.setDoctorName("Др. Коваленко");
+
+        Patient patient = new Patient();
+        patient.setId(42L);
+        patient.setPatientName("Іван Петренко");
+
+        Appointment entity = new Appointment();
+        entity.setId(1L);
+        entity.setDoctor(doctor);
+        entity.setPatient(patient);
+        entity.setAppointmentDate(LocalDate.of(2026, 2, 16));
+        entity.setAppointmentTime(LocalTime.of(10, 30));
+        entity.setStatus(AppointmentStatus.CONFIRMED);
+        entity.setCreatedAt(LocalDateTime.of(2026, 2, 1, 9, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2026, 2, 2, 9, 0));
+        entity.setVersion(3L);
+
+        // When
+        AppointmentDTO dto = mapper.toDTO(entity);
+
+        // Then
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getDoctorId()).isEqualTo(7L);
+        assertThat(dto.getDoctorName()).isEqualTo("Др. Коваленко");
+        assertThat(dto.getPatientId()).isEqualTo(42L);
+        assertThat(dto.getPatientName()).isEqualTo("Іван Петренко");
+        assertThat(dto.getAppointmentDate()).isEqualTo(LocalDate.of(2026, 2, 16));
+        assertThat(dto.getAppointmentTime()).isEqualTo(LocalTime.of(10, 30));
+        assertThat(dto.getStatus()).isEqualTo(AppointmentStatus.CONFIRMED);
+        assertThat(dto.getUpdatedAt()).isEqualTo(LocalDateTime.of(2026, 2, 2, 9, 0));
+        assertThat(dto.getVersion()).isEqualTo(3L);
+    }
+}
@@ -1,22 +1,30 @@
 package com.example.booking_api.repository;
 
+import com.example.booking_api.dto.response.AppointmentDTO;
 import com.example.booking_api.entity.Appointment;
 import com.example.booking_api.entity.AppointmentStatus;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.entity.Patient;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class AppointmentRepositoryTest {
 
     @Autowired
@@ -140,4 +148,179 @@ class AppointmentRepositoryTest {
         // Then
         assertThat(appointmentRepository.findById(appointmentId)).isEmpty();
     }
+
+    @Test
+    void shouldRejectSecondActiveAppointmentInSameSlot() {
+        // Given - той самий лікар, дата і час, що й у appointment1
+        Appointment duplicate = new Appointment();
+        duplicate.setDoctor(doctor);
+        duplicate.setPatient(patient);
+        duplicate.setAppointmentDate(appointment1.getAppointmentDate());
+        duplicate.setAppointmentTime(appointment1.getAppointmentTime());
+        duplicate.setStatus(AppointmentStatus.SCHEDULED);
+
+        // When & Then
+        assertThatThrownBy(() -> appointmentRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldAllowRebookingCancelledSlot() {
+        // Given
+        appointment1.setStatus(AppointmentStatus.CANCELLED);
+        appointmentRepository.saveAndFlush(appointment1);
+
+        Appointment rebooked = new Appointment();
+        rebooked.setDoctor(doctor);
+        rebooked.setPatient(patient);
+        rebooked.setAppointmentDate(appointment1.getAppointmentDate());
+        rebooked.setAppointmentTime(appointment1.getAppointmentTime());
+        rebooked.setStatus(AppointmentStatus.SCHEDULED);
+
+        // When
+        Appointment saved = appointmentRepository.saveAndFlush(rebooked);
+
+        // Then
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getSlotActive()).isTrue();
+        assertThat(appointment1.getSlotActive()).isNull();
+    }
+
+    @Test
+    void shouldLoadDoctorAppointmentsAsDTOsInSingleStatement() {
+        // Given - у лікаря записи до кількох різних пацієнтів
+        for (int i = 0; i < 3; i++) {
+            Patient other = new Patient();
+            other.setPatientName("Пацієнт " + i);
+            other.setEmail("patient" + i + "@example.com");
+            entityManager.persist(other);
+
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(other);
+            appointment.setAppointmentDate(LocalDate.of(2026, 2, 16 + i));
+            appointment.setAppointmentTime(LocalTime.of(9, 0));
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        List<AppointmentDTO> found = appointmentRepository.findDTOsByDoctorId(doctor.getId());
+
+        // Then
+        assertThat(found).hasSize(4);
+        assertThat(found).extracting(AppointmentDTO::getDoctorName).containsOnly("Др. Коваленко");
+        assertThat(found).extracting(AppointmentDTO::getPatientName)
+                .containsExactly("Іван Петренко", "Пацієнт 0", "Пацієнт 1", "Пацієнт 2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadPatientAppointmentsAsDTOsInSingleStatement() {
+        // Given
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        List<AppointmentDTO> found = appointmentRepository.findDTOsByPatientId(patient.getId());
+
+        // Then
+        assertThat(found).hasSize(1);
+        assertThat(found.get(0).getId()).isEqualTo(appointment1.getId());
+        assertThat(found.get(0).getDoctorId()).isEqualTo(doctor.getId());
+        assertThat(found.get(0).getPatientName()).isEqualTo("Іван Петренко");
+        assertThat(found.get(0).getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInsertAppointmentsInJdbcBatch() {
+        // Given - блок id послідовності вже виділено в setUp, nextval не потрібен
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setAppointmentDate(LocalDate.of(2026, 3, 2));
+            appointment.setAppointmentTime(LocalTime.of(9, 0).plusMinutes(15L * i));
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            appointments.add(appointment);
+        }
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        appointmentRepository.saveAll(appointments);
+        appointmentRepository.flush();
+
+        // Then - 20 рядків одним підготовленим INSERT-ом замість 20 окремих
+        assertThat(appointments).allSatisfy(a -> assertThat(a.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectUpdateOfStaleVersion() {
+        // Given - два "клієнти" прочитали запис однієї версії
+        entityManager.clear();
+        Appointment first = appointmentRepository.findById(appointment1.getId()).orElseThrow();
+        entityManager.detach(first);
+        Appointment second = appointmentRepository.findById(appointment1.getId()).orElseThrow();
+        entityManager.detach(second);
+
+        first.setStatus(AppointmentStatus.CONFIRMED);
+        Appointment saved = appointmentRepository.saveAndFlush(first);
+        assertThat(saved.getVersion()).isEqualTo(second.getVersion() + 1);
+
+        // When & Then - зміна на основі старої версії не перезаписує першу
+        second.setStatus(AppointmentStatus.COMPLETED);
+        assertThatThrownBy(() -> appointmentRepository.saveAndFlush(second))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void shouldStreamDTOsInDateRangeOrderedByDateAndTime() {
+        // Given
+        Appointment later = new Appointment();
+        later.setDoctor(doctor);
+        later.setPatient(patient);
+        later.setAppointmentDate(LocalDate.of(2026, 2, 15));
+        later.setAppointmentTime(LocalTime.of(9, 0));
+        later.setStatus(AppointmentStatus.SCHEDULED);
+        entityManager.persist(later);
+
+        Appointment outOfRange = new Appointment();
+        outOfRange.setDoctor(doctor);
+        outOfRange.setPatient(patient);
+        outOfRange.setAppointmentDate(LocalDate.of(2026, 3, 1));
+        outOfRange.setAppointmentTime(LocalTime.of(9, 0));
+        outOfRange.setStatus(AppointmentStatus.SCHEDULED);
+        entityManager.persist(outOfRange);
+        entityManager.flush();
+
+        // When
+        List<AppointmentDTO> exported;
+        try (Stream<AppointmentDTO> stream = appointmentRepository.streamDTOsByDateRange(
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28))) {
+            exported = stream.toList();
+        }
+
+        // Then
+        assertThat(exported).extracting(AppointmentDTO::getId)
+                .containsExactly(later.getId(), appointment1.getId());
+        assertThat(exported.get(0).getDoctorName()).isEqualTo("Др. Коваленко");
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
 }
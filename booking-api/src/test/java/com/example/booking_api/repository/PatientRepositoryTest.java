@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class PatientRepositoryTest {
@@ -141,6 +144,46 @@ class PatientRepositoryTest {
         assertThat(found.get(0).getPatientName()).isEqualTo("Марія Коваленко");
     }
 
+    @Test
+    void shouldStoreNormalizedSearchName() {
+        // Given
+        Patient patient = new Patient();
+        patient.setPatientName("  Мар’яна   ҐОНЧАРЕНКО ");
+        entityManager.persistAndFlush(patient);
+        entityManager.clear();
+
+        // When
+        Patient found = patientRepository.findById(patient.getId()).orElseThrow();
+
+        // Then
+        assertThat(found.getSearchName()).isEqualTo("мар'яна гончаренко");
+    }
+
+    @Test
+    void shouldSearchBySubstringOfNormalizedNameClosestToStartFirst() {
+        // Given
+        Patient patient3 = new Patient();
+        patient3.setPatientName("Коваленко Олена");
+        entityManager.persistAndFlush(patient3);
+
+        // When
+        List<Patient> found = patientRepository.searchBySubstring(
+                "коваленко", "%коваленко%", PageRequest.of(0, 10));
+
+        // Then - "Коваленко Олена" (збіг з початку) вище за "Марія Коваленко"
+        assertThat(found).extracting(Patient::getPatientName)
+                .containsExactly("Коваленко Олена", "Марія Коваленко");
+    }
+
+    @Test
+    void shouldLimitSubstringSearchResults() {
+        // When
+        List<Patient> found = patientRepository.searchBySubstring("о", "%о%", PageRequest.of(0, 1));
+
+        // Then
+        assertThat(found).hasSize(1);
+    }
+
     @Test
     void shouldReturnTrueWhenEmailExists() {
         // When
@@ -177,6 +220,38 @@ class PatientRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    void shouldRejectSecondPatientWithSamePhoneNumber() {
+        // Given
+        Patient duplicate = new Patient();
+        duplicate.setPatientName("Петро Дубль");
+        duplicate.setEmail("petro@example.com");
+        duplicate.setPhoneNumber("+380501234567");
+
+        // When / Then
+        assertThatThrownBy(() -> patientRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .extracting(Throwable::getMessage).asString()
+                .containsIgnoringCase(Patient.PHONE_CONSTRAINT);
+    }
+
+    @Test
+    void shouldAllowSeveralPatientsWithoutPhoneNumber() {
+        // Given
+        Patient first = new Patient();
+        first.setPatientName("Без Телефону");
+        first.setEmail("first@example.com");
+        Patient second = new Patient();
+        second.setPatientName("Теж Без Телефону");
+        second.setEmail("second@example.com");
+
+        // When
+        patientRepository.saveAllAndFlush(List.of(first, second));
+
+        // Then
+        assertThat(patientRepository.count()).isEqualTo(4);
+    }
+
     @Test
     void shouldUpdatePatient() {
         // Given
@@ -0,0 +1,39 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.entity.AppointmentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AppointmentCsv Unit Tests")
+class AppointmentCsvTest {
+
+    @Test
+    @DisplayName("Прості значення без лапок, null - порожнє поле")
+    void line_PlainValues() {
+        AppointmentDTO dto = new AppointmentDTO(1L, 2L, "Др. Коваленко", 3L, "Іван Петренко",
+                LocalDate.of(2026, 2, 15), LocalTime.of(10, 30), AppointmentStatus.SCHEDULED,
+                LocalDateTime.of(2026, 1, 10, 9, 0, 5), null, 0L);
+
+        assertThat(AppointmentCsv.line(dto)).isEqualTo(
+                "1,2,Др. Коваленко,3,Іван Петренко,2026-02-15,10:30,SCHEDULED,2026-01-10T09:00:05,,0\r\n");
+    }
+
+    @Test
+    @DisplayName("Кома, лапки і перенос рядка - поле в лапках, лапки подвоєні")
+    void line_QuotesSpecialCharacters() {
+        AppointmentDTO dto = new AppointmentDTO(1L, 2L, "Коваленко, Петро", 3L, "Іван \"Ваня\"\nПетренко",
+                LocalDate.of(2026, 2, 15), LocalTime.of(10, 30), AppointmentStatus.SCHEDULED,
+                null, null, 0L);
+
+        assertThat(AppointmentCsv.line(dto))
+                .contains(",\"Коваленко, Петро\",")
+                .contains(",\"Іван \"\"Ваня\"\"\nПетренко\",");
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.CacheRegionStatsDTO;
+import com.example.booking_api.entity.AppointmentStatus;
+import com.example.booking_api.repository.AppointmentSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AppointmentDTOCache Unit Tests")
+class AppointmentDTOCacheTest {
+
+    private AppointmentDTOCache cache;
+    private AtomicInteger loads;
+    private Function<Long, Optional<AppointmentSnapshot>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AppointmentDTOCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+        // Записи 1 і 2 - лікар 10, пацієнти 20 і 21; запис 3 - лікар 11, пацієнт 21
+        loader = id -> {
+            loads.incrementAndGet();
+            return switch (id.intValue()) {
+                case 1 -> Optional.of(snapshot(1L, 10L, 20L));
+                case 2 -> Optional.of(snapshot(2L, 10L, 21L));
+                case 3 -> Optional.of(snapshot(3L, 11L, 21L));
+                default -> Optional.empty();
+            };
+        };
+    }
+
+    @Test
+    @DisplayName("Повторне читання не викликає loader")
+    void get_LoadsOnce() {
+        assertThat(cache.get(1L, loader)).isPresent();
+        assertThat(cache.get(1L, loader)).isPresent();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Кожне читання отримує власний DTO - зміни викликача не потрапляють у кеш")
+    void get_ReturnsDefensiveCopies() {
+        AppointmentDTO first = cache.get(1L, loader).orElseThrow().toDTO();
+        first.setStatus(AppointmentStatus.CANCELLED);
+        first.setPatientName("Змінено викликачем");
+
+        AppointmentDTO second = cache.get(1L, loader).orElseThrow().toDTO();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        assertThat(second.getPatientName()).isEqualTo("Іван Петренко");
+        assertThat(second).isEqualTo(snapshot(1L, 10L, 20L).toDTO());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Відсутній запис не кешується")
+    void get_MissingNotCached() {
+        assertThat(cache.get(99L, loader)).isEmpty();
+        assertThat(cache.get(99L, loader)).isEmpty();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Одночасні читання одного запису чекають одне завантаження")
+    void get_ConcurrentReadersShareLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<AppointmentSnapshot>> slowLoader = id -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(id);
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Optional<AppointmentSnapshot>>> readers = new ArrayList<>();
+            readers.add(CompletableFuture.supplyAsync(() -> cache.get(1L, slowLoader), executor));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 10; i++) {
+                readers.add(CompletableFuture.supplyAsync(() -> cache.get(1L, slowLoader), executor));
+            }
+            // Інші ключі не чекають на завантаження запису 1
+            assertThat(cache.get(2L, loader)).isPresent();
+
+            release.countDown();
+            for (CompletableFuture<Optional<AppointmentSnapshot>> reader : readers) {
+                assertThat(reader.get(5, TimeUnit.SECONDS)).isPresent();
+            }
+        }
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Помилка loader-а передається викликачу і не кешується")
+    void get_LoaderFailure_NotCached() {
+        assertThatThrownBy(() -> cache.get(1L, id -> {
+            throw new IllegalStateException("БД недоступна");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, loader)).isPresent();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("invalidate скидає один запис")
+    void invalidate_RemovesEntry() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        cache.invalidate(1L);
+
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Зміна імені лікаря чи пацієнта скидає лише їхні записи")
+    void invalidateDoctorAndPatient_RemoveMatchingEntries() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.get(3L, loader);
+
+        cache.invalidateDoctor(10L);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.get(1L, loader);
+        cache.invalidatePatient(21L);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Статистика влучань і промахів")
+    void getStatistics_CountsHitsAndMisses() {
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        CacheRegionStatsDTO stats = cache.getStatistics();
+
+        assertThat(stats.getRegion()).isEqualTo(AppointmentDTOCache.REGION);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitRatio()).isEqualTo(0.5);
+    }
+
+    private AppointmentSnapshot snapshot(Long id, Long doctorId, Long patientId) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+        return new AppointmentSnapshot(id, doctorId, "Др. Коваленко", patientId, "Іван Петренко",
+                LocalDate.of(2026, 3, 2), LocalTime.of(10, 0), AppointmentStatus.SCHEDULED, createdAt, null, 0L,
+                createdAt);
+    }
+}
@@ -1,28 +1,42 @@
 package com.example.booking_api.service;
 
 import com.example.booking_api.dto.response.AppointmentDTO;
+import com.example.booking_api.dto.response.BulkItemResultDTO;
+import com.example.booking_api.dto.response.BulkResultDTO;
 import com.example.booking_api.dto.request.CreateAppointmentDTO;
 import com.example.booking_api.dto.request.UpdateAppointmentDTO;
 import com.example.booking_api.entity.Appointment;
 import com.example.booking_api.entity.AppointmentStatus;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.entity.Patient;
+import com.example.booking_api.mapper.AppointmentMapper;
 import com.example.booking_api.repository.AppointmentRepository;
+import com.example.booking_api.repository.AppointmentSnapshot;
+import com.example.booking_api.repository.BookedSlot;
 import com.example.booking_api.repository.DoctorRepository;
 import com.example.booking_api.repository.PatientRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +61,18 @@ class AppointmentServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private AppointmentDTOCache appointmentDTOCache = new AppointmentDTOCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private AppointmentMapper appointmentMapper = new AppointmentMapper();
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -100,12 +126,10 @@ class AppointmentServiceTest {
     @DisplayName("Створення запису - успішно")
     void createAppointment_ValidData_Success() {
         // Arrange
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-        when(appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTime(
-                anyLong(), any(LocalDate.class), any(LocalTime.class)))
-                .thenReturn(false);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(doctorRepository.getReferenceById(1L)).thenReturn(testDoctor);
+        when(patientRepository.getReferenceById(1L)).thenReturn(testPatient);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
+        when(appointmentRepository.findDTOById(1L)).thenReturn(Optional.of(toDTO(testAppointment)));
 
         // Act
         AppointmentDTO result = appointmentService.createAppointment(createDTO);
@@ -119,17 +143,22 @@ class AppointmentServiceTest {
         assertThat(result.getPatientName()).isEqualTo("Марія Іванова");
         assertThat(result.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
 
-        // Verify
-        verify(doctorRepository, times(1)).findById(1L);
-        verify(patientRepository, times(1)).findById(1L);
-        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        // Verify - лише INSERT і читання DTO, без окремих перевірок
+        verify(appointmentRepository, times(1)).saveAndFlush(any(Appointment.class));
+        verify(slotOccupancyIndex).occupy(1L, createDTO.getAppointmentDate(), createDTO.getAppointmentTime());
+        verify(doctorRepository, never()).findById(anyLong());
+        verify(patientRepository, never()).findById(anyLong());
+        verify(appointmentRepository, never()).existsByDoctorIdAndAppointmentDateAndAppointmentTime(
+                anyLong(), any(LocalDate.class), any(LocalTime.class));
     }
 
     @Test
     @DisplayName("Створення запису - лікар не знайдений")
     void createAppointment_DoctorNotFound_ThrowsException() {
         // Arrange
-        when(doctorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+                .thenThrow(integrityViolation("fk_appointments_doctor", "23503",
+                        "Key (doctor_id)=(1) is not present in table \"doctors\""));
 
         // Act & Assert
         assertThatThrownBy(() -> appointmentService.createAppointment(createDTO))
@@ -137,15 +166,16 @@ class AppointmentServiceTest {
                 .hasMessageContaining("Лікаря")
                 .hasMessageContaining("не знайдено");
 
-        verify(appointmentRepository, never()).save(any());
+        verify(appointmentRepository, never()).findDTOById(anyLong());
     }
 
     @Test
     @DisplayName("Створення запису - пацієнт не знайдений")
     void createAppointment_PatientNotFound_ThrowsException() {
         // Arrange
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+                .thenThrow(integrityViolation("fk_appointments_patient", "23503",
+                        "Key (patient_id)=(1) is not present in table \"patients\""));
 
         // Act & Assert
         assertThatThrownBy(() -> appointmentService.createAppointment(createDTO))
@@ -153,25 +183,129 @@ class AppointmentServiceTest {
                 .hasMessageContaining("Пацієнта")
                 .hasMessageContaining("не знайдено");
 
-        verify(appointmentRepository, never()).save(any());
+        verify(appointmentRepository, never()).findDTOById(anyLong());
     }
 
     @Test
     @DisplayName("Створення запису - час зайнятий")
     void createAppointment_TimeSlotTaken_ThrowsException() {
+        // Arrange - унікальний індекс слоту відхилив вставку
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+                .thenThrow(integrityViolation(Appointment.SLOT_CONSTRAINT, "23505",
+                        "duplicate key value violates unique constraint"));  // ❌ Час зайнятий!
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.createAppointment(createDTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("зайнятий");
+
+        verify(appointmentRepository, never()).findDTOById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Створення запису - конфлікт первинного ключа не видається за зайнятий слот")
+    void createAppointment_PrimaryKeyViolation_Propagates() {
+        // Arrange - послідовність відстала від даних, унікальність порушена не слотом
+        DataIntegrityViolationException violation = integrityViolation("appointments_pkey", "23505",
+                "duplicate key value violates unique constraint");
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenThrow(violation);
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.createAppointment(createDTO))
+                .isSameAs(violation);
+    }
+
+    @Test
+    @DisplayName("Створення запису - зайнятість слоту підтверджена, вставка не виконується")
+    void createAppointment_SlotOccupied_ThrowsWithoutInsert() {
         // Arrange
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-        when(appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTime(
-                anyLong(), any(LocalDate.class), any(LocalTime.class)))
-                .thenReturn(true);  // ❌ Час зайнятий!
+        when(slotOccupancyIndex.confirmOccupied(1L, createDTO.getAppointmentDate(), createDTO.getAppointmentTime()))
+                .thenReturn(true);
 
         // Act & Assert
         assertThatThrownBy(() -> appointmentService.createAppointment(createDTO))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("зайнятий");
 
-        verify(appointmentRepository, never()).save(any());
+        verify(appointmentRepository, never()).saveAndFlush(any());
+        verify(slotOccupancyIndex, never()).occupy(anyLong(), any(), any());
+    }
+
+    // ========== BULK CREATE TESTS ==========
+
+    @Test
+    @DisplayName("Масове створення - частковий успіх, по одному запиту на лікарів, пацієнтів і слоти")
+    void createAppointments_MixedItems_ReturnsPerItemResults() {
+        // Arrange
+        LocalDate date = createDTO.getAppointmentDate();
+        CreateAppointmentDTO free = new CreateAppointmentDTO(1L, 1L, date, LocalTime.of(9, 0));
+        CreateAppointmentDTO takenInDb = new CreateAppointmentDTO(1L, 1L, date, LocalTime.of(14, 0));
+        CreateAppointmentDTO unknownDoctor = new CreateAppointmentDTO(99L, 1L, date, LocalTime.of(10, 0));
+        CreateAppointmentDTO invalid = new CreateAppointmentDTO(1L, null, date, LocalTime.of(10, 0));
+        CreateAppointmentDTO duplicateOfFirst = new CreateAppointmentDTO(1L, 1L, date, LocalTime.of(9, 0));
+
+        when(doctorRepository.findAllById(anyIterable())).thenReturn(List.of(testDoctor));
+        when(patientRepository.findAllById(anyIterable())).thenReturn(List.of(testPatient));
+        when(appointmentRepository.findActiveSlots(anyCollection(), eq(date), eq(date)))
+                .thenReturn(List.of(bookedSlot(1L, date, LocalTime.of(14, 0))));
+
+        // Act
+        BulkResultDTO result = appointmentService.createAppointments(
+                List.of(free, takenInDb, unknownDoctor, invalid, duplicateOfFirst));
+
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getResults().get(0).getAppointment().getAppointmentTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(result.getResults().get(0).getError()).isNull();
+        assertThat(result.getResults().get(1).getError()).contains("зайнятий");
+        assertThat(result.getResults().get(2).getError()).contains("Лікаря з ID 99");
+        assertThat(result.getResults().get(3).getError()).contains("ID пацієнта обов'язковий");
+        assertThat(result.getResults().get(4).getError()).contains("зайнятий");
+        assertThat(result.getResults()).extracting(BulkItemResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4);
+
+        verify(appointmentRepository).saveAll(argThat(list -> ((List<?>) list).size() == 1));
+        verify(appointmentRepository).flush();
+        verify(doctorRepository, times(1)).findAllById(anyIterable());
+        verify(patientRepository, times(1)).findAllById(anyIterable());
+        verify(slotOccupancyIndex).occupy(1L, date, LocalTime.of(9, 0));
+        verify(appointmentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Масове створення - усі елементи невалідні, БД не викликається")
+    void createAppointments_AllInvalid_SkipsDatabase() {
+        CreateAppointmentDTO offGrid = new CreateAppointmentDTO(1L, 1L, createDTO.getAppointmentDate(), LocalTime.of(9, 7));
+
+        BulkResultDTO result = appointmentService.createAppointments(List.of(offGrid));
+
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getFailed()).isEqualTo(1);
+        verifyNoInteractions(doctorRepository, patientRepository, appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Масове створення - забагато елементів")
+    void createAppointments_TooManyItems_ThrowsException() {
+        List<CreateAppointmentDTO> tooMany = Collections.nCopies(AppointmentService.MAX_BULK_SIZE + 1, createDTO);
+
+        assertThatThrownBy(() -> appointmentService.createAppointments(tooMany))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(AppointmentService.MAX_BULK_SIZE));
+    }
+
+    @Test
+    @DisplayName("Масове створення - паралельний запит зайняв слот під час вставки")
+    void createAppointments_ConcurrentConflict_ThrowsConflict() {
+        when(doctorRepository.findAllById(anyIterable())).thenReturn(List.of(testDoctor));
+        when(patientRepository.findAllById(anyIterable())).thenReturn(List.of(testPatient));
+        doThrow(integrityViolation(Appointment.SLOT_CONSTRAINT, "23505", "duplicate key"))
+                .when(appointmentRepository).flush();
+
+        assertThatThrownBy(() -> appointmentService.createAppointments(List.of(createDTO)))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(slotOccupancyIndex, never()).occupy(anyLong(), any(), any());
     }
 
     // ========== READ TESTS ==========
@@ -180,7 +314,7 @@ class AppointmentServiceTest {
     @DisplayName("Отримання запису за ID - успішно")
     void getAppointmentById_ExistingId_ReturnsAppointment() {
         // Arrange
-        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(appointmentRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(testAppointment)));
 
         // Act
         AppointmentDTO result = appointmentService.getAppointmentById(1L);
@@ -191,21 +325,54 @@ class AppointmentServiceTest {
         assertThat(result.getDoctorName()).isEqualTo("Іван Петренко");
         assertThat(result.getPatientName()).isEqualTo("Марія Іванова");
 
-        verify(appointmentRepository, times(1)).findById(1L);
+        verify(appointmentRepository, times(1)).findSnapshotById(1L);
+    }
+
+    @Test
+    @DisplayName("Отримання запису за ID - повторний запит із кешу DTO")
+    void getAppointmentById_RepeatedCall_ServedFromCache() {
+        // Arrange
+        when(appointmentRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(testAppointment)));
+
+        // Act
+        appointmentService.getAppointmentById(1L);
+        AppointmentDTO result = appointmentService.getAppointmentById(1L);
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(appointmentRepository, times(1)).findSnapshotById(1L);
+        verify(appointmentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Скасування скидає запис із кешу DTO")
+    void cancelAppointment_InvalidatesCachedDTO() {
+        // Arrange
+        when(appointmentRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(testAppointment)));
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        appointmentService.getAppointmentById(1L);
+
+        // Act
+        appointmentService.cancelAppointment(1L);
+        appointmentService.getAppointmentById(1L);
+
+        // Assert
+        verify(appointmentDTOCache).invalidate(1L);
+        verify(appointmentRepository, times(2)).findSnapshotById(1L);
     }
 
     @Test
     @DisplayName("Отримання запису за ID - не знайдено")
     void getAppointmentById_NonExistingId_ThrowsException() {
         // Arrange
-        when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(appointmentRepository.findSnapshotById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> appointmentService.getAppointmentById(999L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("не знайдено");
 
-        verify(appointmentRepository, times(1)).findById(999L);
+        verify(appointmentRepository, times(1)).findSnapshotById(999L);
     }
 
     @Test
@@ -221,8 +388,8 @@ class AppointmentServiceTest {
         appointment2.setStatus(AppointmentStatus.SCHEDULED);
         appointment2.setCreatedAt(LocalDateTime.now());
 
-        List<Appointment> appointments = Arrays.asList(testAppointment, appointment2);
-        when(appointmentRepository.findByDoctorId(1L)).thenReturn(appointments);
+        List<AppointmentDTO> appointments = Arrays.asList(toDTO(testAppointment), toDTO(appointment2));
+        when(appointmentRepository.findDTOsByDoctorId(1L)).thenReturn(appointments);
 
         // Act
         List<AppointmentDTO> result = appointmentService.getAppointmentsByDoctor(1L);
@@ -232,15 +399,16 @@ class AppointmentServiceTest {
         assertThat(result.get(0).getDoctorId()).isEqualTo(1L);
         assertThat(result.get(1).getDoctorId()).isEqualTo(1L);
 
-        verify(appointmentRepository, times(1)).findByDoctorId(1L);
+        verify(appointmentRepository, times(1)).findDTOsByDoctorId(1L);
+        verify(appointmentRepository, never()).findByDoctorId(anyLong());
     }
 
     @Test
     @DisplayName("Отримання записів за пацієнтом")
     void getAppointmentsByPatient_ReturnsListOfAppointments() {
         // Arrange
-        List<Appointment> appointments = Arrays.asList(testAppointment);
-        when(appointmentRepository.findByPatientId(1L)).thenReturn(appointments);
+        List<AppointmentDTO> appointments = Arrays.asList(toDTO(testAppointment));
+        when(appointmentRepository.findDTOsByPatientId(1L)).thenReturn(appointments);
 
         // Act
         List<AppointmentDTO> result = appointmentService.getAppointmentsByPatient(1L);
@@ -250,7 +418,7 @@ class AppointmentServiceTest {
         assertThat(result.get(0).getPatientId()).isEqualTo(1L);
         assertThat(result.get(0).getPatientName()).isEqualTo("Марія Іванова");
 
-        verify(appointmentRepository, times(1)).findByPatientId(1L);
+        verify(appointmentRepository, times(1)).findDTOsByPatientId(1L);
     }
 
     // ========== UPDATE TESTS ==========
@@ -306,6 +474,73 @@ class AppointmentServiceTest {
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
     }
 
+    @Test
+    @DisplayName("Оновлення запису - застаріла версія - конфлікт, зміни не зберігаються")
+    void updateAppointment_StaleVersion_ThrowsOptimisticLockingFailure() {
+        // Arrange
+        testAppointment.setVersion(3L);
+        updateDTO.setVersion(2L);
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.updateAppointment(1L, updateDTO))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(appointmentRepository, never()).save(any());
+        assertThat(testAppointment.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+    }
+
+    @Test
+    @DisplayName("Оновлення запису - перенесення на зайнятий слот відхиляється до змін запису")
+    void updateAppointment_RescheduleToOccupiedSlot_ThrowsException() {
+        // Arrange
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(slotOccupancyIndex.confirmOccupied(1L, updateDTO.getAppointmentDate(), updateDTO.getAppointmentTime()))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.updateAppointment(1L, updateDTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("зайнятий");
+
+        verify(appointmentRepository, never()).save(any());
+        assertThat(testAppointment.getAppointmentTime()).isEqualTo(LocalTime.of(14, 0));
+        assertThat(testAppointment.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+    }
+
+    @Test
+    @DisplayName("Оновлення запису - слот зайняли паралельно (унікальний індекс при flush)")
+    void updateAppointment_SlotTakenConcurrently_ThrowsException() {
+        // Arrange
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        doThrow(integrityViolation(Appointment.SLOT_CONSTRAINT, "23505", "duplicate key"))
+                .when(appointmentRepository).flush();
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.updateAppointment(1L, updateDTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("зайнятий");
+
+        verify(slotOccupancyIndex, never()).occupy(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Оновлення запису - лише статус, той самий слот не перевіряється")
+    void updateAppointment_StatusOnly_DoesNotCheckSlot() {
+        // Arrange
+        UpdateAppointmentDTO confirm = new UpdateAppointmentDTO();
+        confirm.setStatus(AppointmentStatus.CONFIRMED);
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+
+        // Act
+        appointmentService.updateAppointment(1L, confirm);
+
+        // Assert
+        verify(slotOccupancyIndex, never()).confirmOccupied(any(), any(), any());
+    }
+
     // ========== CANCEL TESTS ==========
 
     @Test
@@ -321,6 +556,7 @@ class AppointmentServiceTest {
         // Assert
         verify(appointmentRepository, times(1)).findById(1L);
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(slotOccupancyIndex).release(1L, testAppointment.getAppointmentDate(), LocalTime.of(14, 0));
     }
 
     @Test
@@ -351,23 +587,23 @@ class AppointmentServiceTest {
     @Test
     @DisplayName("Отримання записів лікаря - порожній список")
     void getAppointmentsByDoctor_NoAppointments_ReturnsEmptyList() {
-        when(appointmentRepository.findByDoctorId(1L)).thenReturn(Arrays.asList());
+        when(appointmentRepository.findDTOsByDoctorId(1L)).thenReturn(Arrays.asList());
 
         List<AppointmentDTO> result = appointmentService.getAppointmentsByDoctor(1L);
 
         assertThat(result).isEmpty();
-        verify(appointmentRepository, times(1)).findByDoctorId(1L);
+        verify(appointmentRepository, times(1)).findDTOsByDoctorId(1L);
     }
 
     @Test
     @DisplayName("Отримання записів пацієнта - порожній список")
     void getAppointmentsByPatient_NoAppointments_ReturnsEmptyList() {
-        when(appointmentRepository.findByPatientId(1L)).thenReturn(Arrays.asList());
+        when(appointmentRepository.findDTOsByPatientId(1L)).thenReturn(Arrays.asList());
 
         List<AppointmentDTO> result = appointmentService.getAppointmentsByPatient(1L);
 
         assertThat(result).isEmpty();
-        verify(appointmentRepository, times(1)).findByPatientId(1L);
+        verify(appointmentRepository, times(1)).findDTOsByPatientId(1L);
     }
 
     @Test
@@ -388,8 +624,9 @@ class AppointmentServiceTest {
     @DisplayName("Конвертація Entity в DTO - правильні дані")
     void convertToDTO_ValidEntity_ReturnsCorrectDTO() {
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
 
-        AppointmentDTO result = appointmentService.getAppointmentById(1L);
+        AppointmentDTO result = appointmentService.updateAppointment(1L, new UpdateAppointmentDTO());
 
         assertThat(result.getId()).isEqualTo(testAppointment.getId());
         assertThat(result.getDoctorId()).isEqualTo(testDoctor.getId());
@@ -398,5 +635,54 @@ class AppointmentServiceTest {
         assertThat(result.getAppointmentTime()).isEqualTo(testAppointment.getAppointmentTime());
         assertThat(result.getStatus()).isEqualTo(testAppointment.getStatus());
     }
-}
 
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private DataIntegrityViolationException integrityViolation(String constraint, String sqlState, String message) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException(message, sqlState), constraint));
+    }
+
+    private BookedSlot bookedSlot(Long doctorId, LocalDate date, LocalTime time) {
+        return new BookedSlot() {
+            @Override
+            public Long getDoctorId() {
+                return doctorId;
+            }
+
+            @Override
+            public LocalDate getAppointmentDate() {
+                return date;
+            }
+
+            @Override
+            public LocalTime getAppointmentTime() {
+                return time;
+            }
+        };
+    }
+
+    private AppointmentSnapshot snapshot(Appointment appointment) {
+        AppointmentDTO dto = toDTO(appointment);
+        return new AppointmentSnapshot(dto.getId(), dto.getDoctorId(), dto.getDoctorName(), dto.getPatientId(),
+                dto.getPatientName(), dto.getAppointmentDate(), dto.getAppointmentTime(), dto.getStatus(),
+                dto.getCreatedAt(), dto.getUpdatedAt(), dto.getVersion(), dto.getCreatedAt());
+    }
+
+    private AppointmentDTO toDTO(Appointment appointment) {
+        return new AppointmentDTO(
+                appointment.getId(),
+                appointment.getDoctor().getId(),
+                appointment.getDoctor().getDoctorName(),
+                appointment.getPatient().getId(),
+                appointment.getPatient().getPatientName(),
+                appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(),
+                appointment.getStatus(),
+                appointment.getCreatedAt(),
+                appointment.getUpdatedAt(),
+                appointment.getVersion()
+        );
+    }
+}
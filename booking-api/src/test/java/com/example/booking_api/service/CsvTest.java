@@ -0,0 +1,64 @@
+package com.example.booking_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Csv Unit Tests")
+class CsvTest {
+
+    @Test
+    @DisplayName("Поля в лапках з комою, подвоєними лапками і переносом рядка")
+    void recordReader_QuotedFields() throws IOException {
+        Csv.RecordReader reader = reader("name,note\r\n\"Коваленко, Іван\",\"він сказав \"\"так\"\"\"\r\n\"два\nрядки\",\r\n");
+
+        assertThat(reader.next()).containsExactly("name", "note");
+        assertThat(reader.next()).containsExactly("Коваленко, Іван", "він сказав \"так\"");
+        assertThat(reader.next()).containsExactly("два\nрядки", "");
+        assertThat(reader.recordLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Порожні рядки пропускаються, номер рядка запису враховує їх")
+    void recordReader_SkipsBlankLines() throws IOException {
+        Csv.RecordReader reader = reader("a,b\n\n\r\nc,d");
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Не закриті лапки - помилка з номером рядка")
+    void recordReader_UnclosedQuote_ThrowsException() throws IOException {
+        Csv.RecordReader reader = reader("a,b\n\"c,d\n");
+
+        reader.next();
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Рядок 2: не закриті лапки");
+    }
+
+    @Test
+    @DisplayName("Запис поля: лапки лише там, де потрібно")
+    void appendField_QuotesWhenNeeded() {
+        StringBuilder line = new StringBuilder();
+        Csv.appendField(line, "просто").append(',');
+        Csv.appendField(line, null).append(',');
+        Csv.appendField(line, "a,\"b\"");
+
+        assertThat(line.toString()).isEqualTo("просто,,\"a,\"\"b\"\"\"");
+    }
+
+    private Csv.RecordReader reader(String text) {
+        return new Csv.RecordReader(new StringReader(text));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.booking_api.service;
 
 import com.example.booking_api.dto.request.CreateDoctorDTO;
 import com.example.booking_api.dto.request.UpdateDoctorDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.DoctorDTO;
 import com.example.booking_api.entity.Doctor;
 import com.example.booking_api.exception.NotFoundException;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +35,12 @@ class DoctorServiceTest {
     @Mock
     private DoctorMapper doctorMapper;
 
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private AppointmentDTOCache appointmentDTOCache;
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -87,18 +96,18 @@ class DoctorServiceTest {
     }
 
     @Test
-    void getAllDoctors_Success() {
+    void getDoctorsPage_LastPage_NoCursor() {
         // Given
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor));
-        when(doctorMapper.toDTO(any(Doctor.class))).thenReturn(doctorDTO);
+        when(doctorRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of(doctor));
 
         // When
-        List<DoctorDTO> result = doctorService.getAllDoctors();
+        CursorPage<DoctorDTO> result = doctorService.getDoctorsPage(null, 20);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getDoctorName()).isEqualTo("Др. Коваленко");
-        verify(doctorRepository, times(1)).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getDoctorName()).isEqualTo("Др. Коваленко");
+        assertThat(result.getNextCursor()).isNull();
+        verify(doctorRepository, never()).findAll();
     }
 
     @Test
@@ -155,6 +164,7 @@ class DoctorServiceTest {
 
         // Then
         verify(doctorRepository, times(1)).deleteById(1L);
+        verify(secondLevelCache).evictDoctor(1L);
     }
 
     @Test
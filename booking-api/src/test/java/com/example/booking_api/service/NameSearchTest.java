@@ -0,0 +1,46 @@
+package com.example.booking_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NameSearch Unit Tests")
+class NameSearchTest {
+
+    @Test
+    @DisplayName("Режим: contains за замовчуванням, fuzzy без урахування регістру")
+    void isFuzzy_ParsesMode() {
+        assertThat(NameSearch.isFuzzy(null)).isFalse();
+        assertThat(NameSearch.isFuzzy("contains")).isFalse();
+        assertThat(NameSearch.isFuzzy("FUZZY")).isTrue();
+        assertThatThrownBy(() -> NameSearch.isFuzzy("regex"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("regex");
+    }
+
+    @Test
+    @DisplayName("Запит нормалізується, порожній - помилка")
+    void query_NormalizesOrRejectsBlank() {
+        assertThat(NameSearch.query(" Мар’яна ")).isEqualTo("мар'яна");
+        assertThatThrownBy(() -> NameSearch.query("   "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Символи LIKE у запиті екрануються")
+    void likePattern_EscapesWildcards() {
+        assertThat(NameSearch.likePattern("ков")).isEqualTo("%ков%");
+        assertThat(NameSearch.likePattern("50%_!")).isEqualTo("%50!%!_!!%");
+    }
+
+    @Test
+    @DisplayName("Ліміт обрізається до максимуму, непозитивний - помилка")
+    void limit_ClampsToMax() {
+        assertThat(NameSearch.limit(5)).isEqualTo(5);
+        assertThat(NameSearch.limit(1000)).isEqualTo(NameSearch.MAX_LIMIT);
+        assertThatThrownBy(() -> NameSearch.limit(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
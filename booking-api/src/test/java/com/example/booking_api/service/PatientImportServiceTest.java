@@ -0,0 +1,117 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.ImportRejectionDTO;
+import com.example.booking_api.dto.response.PatientImportResultDTO;
+import com.example.booking_api.entity.Patient;
+import com.example.booking_api.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Імпорт на H2: staging-таблиця заповнюється JDBC-пакетами замість COPY, решта SQL та сама.
+ * Імпорт комітить власну транзакцію, тому тест без спільної тестової транзакції
+ */
+@DataJpaTest
+@Import({PatientImportService.class, PatientSearchIndex.class, SecondLevelCache.class, LocalValidatorFactoryBean.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("PatientImportService Tests (H2)")
+class PatientImportServiceTest {
+
+    @Autowired
+    private PatientImportService patientImportService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @AfterEach
+    void tearDown() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Валідні рядки імпортуються, невалідні та повтори відхиляються з номером рядка")
+    void importPatients_ValidatesAndRejectsDuplicates() {
+        Patient existing = new Patient();
+        existing.setPatientName("Наявний Пацієнт");
+        existing.setEmail("existing@example.com");
+        existing.setPhoneNumber("+380500000001");
+        patientRepository.save(existing);
+
+        PatientImportResultDTO result = importCsv("""
+                \uFEFFemail,patientName,phoneNumber
+                ivan@example.com,Іван Петренко,+380501234567
+                ,,+380501234568
+                bad-email,Марія Коваль,
+                petro@example.com,Петро Іваненко,12345
+                existing@example.com,Ольга Шевчук,
+                ivan@example.com,Іван Другий,
+                olena@example.com,"Коваленко, Олена",+380500000001
+                taras@example.com,Тарас Бойко
+                andriy@example.com,Андрій Мельник,0671112233
+                """);
+
+        assertThat(result.getTotal()).isEqualTo(9);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(7);
+        assertThat(result.getRejections()).extracting(ImportRejectionDTO::getLine)
+                .containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(result.getRejections().get(4).getReason()).isEqualTo("Email ivan@example.com вже є у файлі в рядку 2");
+        assertThat(result.getRejections().get(3).getReason()).isEqualTo("Пацієнт з email existing@example.com вже існує");
+        assertThat(result.getRejections().get(6).getReason()).isEqualTo("Очікується полів: 3, у рядку: 2");
+
+        assertThat(patientRepository.findByEmail("ivan@example.com")).get()
+                .satisfies(patient -> {
+                    assertThat(patient.getPatientName()).isEqualTo("Іван Петренко");
+                    assertThat(patient.getSearchName()).isEqualTo("іван петренко");
+                    assertThat(patient.getCreatedAt()).isNotNull();
+                });
+        assertThat(patientRepository.findByPhoneNumber("+380671112233")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Id з послідовності не перетинаються з тими, що потім видає Hibernate")
+    void importPatients_IdsDoNotCollideWithHibernate() {
+        StringBuilder csv = new StringBuilder("patientName,email\n");
+        IntStream.range(0, 120).forEach(i -> csv.append("Пацієнт ").append(i).append(",p").append(i).append("@example.com\n"));
+
+        assertThat(importCsv(csv.toString()).getImported()).isEqualTo(120);
+
+        Patient created = new Patient();
+        created.setPatientName("Після Імпорту");
+        created.setEmail("after@example.com");
+        patientRepository.save(created);
+
+        assertThat(patientRepository.count()).isEqualTo(121);
+    }
+
+    @Test
+    @DisplayName("Без колонки patientName або з незакритими лапками - помилка, нічого не імпортовано")
+    void importPatients_MalformedFile_ThrowsException() {
+        assertThatThrownBy(() -> importCsv("name,email\nІван,ivan@example.com\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("У заголовку немає колонки patientName");
+        assertThatThrownBy(() -> importCsv("patientName,email\nІван,ivan@example.com\n\"Петро,petro@example.com\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Рядок 3: не закриті лапки");
+
+        assertThat(patientRepository.count()).isZero();
+    }
+
+    private PatientImportResultDTO importCsv(String csv) {
+        return patientImportService.importPatients(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.PatientSuggestionDTO;
+import com.example.booking_api.repository.PatientContact;
+import com.example.booking_api.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PatientSearchIndex Unit Tests")
+class PatientSearchIndexTest {
+
+    private PatientRepository patientRepository;
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = mock(PatientRepository.class);
+        index = new PatientSearchIndex(patientRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        index.put(1L, "Іван Петренко", "+380501234567", "ivan@example.com");
+        index.put(2L, "Марʼяна Петрук", "+380671112233", "maryana@example.com");
+        index.put(3L, "Петро Іваненко", null, "petro@example.com");
+    }
+
+    @Test
+    @DisplayName("Префікс слова імені, без урахування регістру")
+    void suggest_ByNamePrefix() {
+        assertThat(ids(index.suggest("ПЕТР", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.suggest("петре", 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Кілька слів - кожне має бути префіксом, порядок слів не важливий")
+    void suggest_AllTermsMustMatch() {
+        assertThat(ids(index.suggest("петренко ів", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("іван петр", 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(index.suggest("іва петре", 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Нормалізація апострофа")
+    void suggest_NormalizesApostrophe() {
+        assertThat(ids(index.suggest("мар'я", 10))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Телефон: з кодом країни, локальний формат, з розділювачами")
+    void suggest_ByPhonePrefix() {
+        assertThat(ids(index.suggest("+38067", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("050 123", 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Email")
+    void suggest_ByEmailPrefix() {
+        assertThat(ids(index.suggest("PETRO@", 10))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Email з дефісом шукається цілим, разом зі словами імені")
+    void suggest_ByHyphenatedEmail() {
+        index.put(4L, "Анна-Марія Коваль", null, "anna-maria@x.com");
+
+        assertThat(ids(index.suggest("anna-maria@x.com", 10))).containsExactly(4L);
+        assertThat(ids(index.suggest("коваль Anna-Maria@x", 10))).containsExactly(4L);
+        assertThat(ids(index.suggest("анна-марія", 10))).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Ліміт результатів")
+    void suggest_RespectsLimit() {
+        assertThat(index.suggest("п", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Оновлення замінює старі ключі, видалення прибирає пацієнта")
+    void putAndRemove_UpdateKeysIncrementally() {
+        index.put(1L, "Іван Сидоренко", "+380501234567", "ivan@example.com");
+
+        assertThat(ids(index.suggest("петренко", 10))).isEmpty();
+        assertThat(index.suggest("сидор", 10)).singleElement()
+                .extracting(PatientSuggestionDTO::getPatientName).isEqualTo("Іван Сидоренко");
+
+        index.remove(1L);
+
+        assertThat(ids(index.suggest("іван", 10))).containsExactly(3L);
+        assertThat(ids(index.suggest("050", 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Пакетне додавання: спільні ключі об'єднуються, наявні пацієнти оновлюються")
+    void putAll_MergesSharedKeys() {
+        index.putAll(List.of(contact(5L, "Петро Коваль"), contact(4L, "Петро Шевчук"), contact(3L, "Петро Кравець")));
+
+        assertThat(ids(index.suggest("петро", 10))).containsExactly(3L, 4L, 5L);
+        assertThat(ids(index.suggest("іваненко", 10))).isEmpty();
+        assertThat(ids(index.suggest("петр", 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Порожній запит - помилка")
+    void suggest_BlankQuery_ThrowsException() {
+        assertThatThrownBy(() -> index.suggest("  ", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Побудова при старті читає всі сторінки контактів")
+    void afterSingletonsInstantiated_LoadsAllPages() {
+        PatientSearchIndex fresh = new PatientSearchIndex(patientRepository);
+        ReflectionTestUtils.setField(fresh, "enabled", true);
+        List<PatientContact> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(contact(id, "Пацієнт " + id));
+        }
+        when(patientRepository.findContactsAfter(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(patientRepository.findContactsAfter(eq(1000L), any(Pageable.class)))
+                .thenReturn(List.of(contact(1001L, "Остання Пацієнтка")));
+
+        fresh.afterSingletonsInstantiated();
+
+        assertThat(fresh.size()).isEqualTo(1001);
+        assertThat(ids(fresh.suggest("остання", 10))).containsExactly(1001L);
+        verify(patientRepository, times(2)).findContactsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Вимкнений індекс не будується і не змінюється")
+    void disabled_IgnoresUpdates() {
+        PatientSearchIndex disabled = new PatientSearchIndex(patientRepository);
+
+        disabled.afterSingletonsInstantiated();
+        disabled.put(1L, "Іван Петренко", null, null);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.size()).isZero();
+        verifyNoInteractions(patientRepository);
+    }
+
+    // ========== ДОПОМІЖНІ МЕТОДИ ==========
+
+    private List<Long> ids(List<PatientSuggestionDTO> suggestions) {
+        return suggestions.stream().map(PatientSuggestionDTO::getId).toList();
+    }
+
+    private PatientContact contact(Long id, String name) {
+        return new PatientContact() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getPatientName() {
+                return name;
+            }
+
+            @Override
+            public String getPhoneNumber() {
+                return null;
+            }
+
+            @Override
+            public String getEmail() {
+                return null;
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.example.booking_api.service;
 
 import com.example.booking_api.dto.request.CreatePatientDTO;
 import com.example.booking_api.dto.request.UpdatePatientDTO;
+import com.example.booking_api.dto.response.CursorPage;
 import com.example.booking_api.dto.response.PatientDTO;
 import com.example.booking_api.entity.Patient;
 import com.example.booking_api.exception.NotFoundException;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +35,15 @@ class PatientServiceTest {
     @Mock
     private PatientMapper patientMapper;
 
+    @Mock
+    private PatientSearchIndex patientSearchIndex;
+
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private AppointmentDTOCache appointmentDTOCache;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -82,18 +94,18 @@ class PatientServiceTest {
     }
 
     @Test
-    void getAllPatients_Success() {
+    void getPatientsPage_LastPage_NoCursor() {
         // Given
-        when(patientRepository.findAll()).thenReturn(List.of(patient));
-        when(patientMapper.toDTO(any(Patient.class))).thenReturn(patientDTO);
+        when(patientRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of(patient));
 
         // When
-        List<PatientDTO> result = patientService.getAllPatients();
+        CursorPage<PatientDTO> result = patientService.getPatientsPage(null, 20);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getPatientName()).isEqualTo("Іван Петренко");
-        verify(patientRepository, times(1)).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getPatientName()).isEqualTo("Іван Петренко");
+        assertThat(result.getNextCursor()).isNull();
+        verify(patientRepository, never()).findAll();
     }
 
     @Test
@@ -150,6 +162,7 @@ class PatientServiceTest {
 
         // Then
         verify(patientRepository, times(1)).deleteById(1L);
+        verify(secondLevelCache).evictPatient(1L);
     }
 
     @Test
@@ -0,0 +1,155 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.dto.response.CacheRegionStatsDTO;
+import com.example.booking_api.entity.Doctor;
+import com.example.booking_api.entity.Patient;
+import com.example.booking_api.repository.DoctorRepository;
+import com.example.booking_api.repository.PatientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Кеш наповнюється лише після коміту, тому тест працює без спільної тестової транзакції:
+ * кожен виклик репозиторію - окрема транзакція і окремий persistence context
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(SecondLevelCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SecondLevelCache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Patient patient;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = new Patient();
+        patient.setPatientName("Іван Петренко");
+        patient.setEmail("ivan.cache@example.com");
+        patient.setPhoneNumber("+380501234567");
+        patient = patientRepository.save(patient);
+
+        doctor = new Doctor();
+        doctor.setDoctorName("Др. Коваленко");
+        doctor.setSpecialization("Терапевт");
+        doctor.setEmail("kovalenko.cache@clinic.com");
+        doctor = doctorRepository.save(doctor);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        patientRepository.deleteAll();
+        doctorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Повторне читання за id не звертається до БД")
+    void findById_SecondReadServedFromCache() {
+        patientRepository.findById(patient.getId()).orElseThrow();
+        doctorRepository.findById(doctor.getId()).orElseThrow();
+        statistics().clear();
+
+        Patient cachedPatient = patientRepository.findById(patient.getId()).orElseThrow();
+        Doctor cachedDoctor = doctorRepository.findById(doctor.getId()).orElseThrow();
+
+        assertThat(cachedPatient.getPatientName()).isEqualTo("Іван Петренко");
+        assertThat(cachedDoctor.getDoctorName()).isEqualTo("Др. Коваленко");
+        assertThat(statistics().getPrepareStatementCount()).isZero();
+        assertThat(statistics().getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findByEmail і findByPhoneNumber кешуються в query cache")
+    void naturalIdLookups_SecondCallServedFromCache() {
+        patientRepository.findByEmail(patient.getEmail()).orElseThrow();
+        patientRepository.findByPhoneNumber(patient.getPhoneNumber()).orElseThrow();
+        statistics().clear();
+
+        assertThat(patientRepository.findByEmail(patient.getEmail())).isPresent();
+        assertThat(patientRepository.findByPhoneNumber(patient.getPhoneNumber())).isPresent();
+
+        assertThat(statistics().getPrepareStatementCount()).isZero();
+        assertThat(statistics().getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Оновлення скидає закешований результат findByEmail")
+    void update_InvalidatesLookup() {
+        patientRepository.findByEmail(patient.getEmail()).orElseThrow();
+
+        Patient loaded = patientRepository.findById(patient.getId()).orElseThrow();
+        loaded.setEmail("ivan.new@example.com");
+        patientRepository.save(loaded);
+        secondLevelCache.evictPatient(patient.getId());
+
+        assertThat(patientRepository.findByEmail("ivan.cache@example.com")).isEmpty();
+        assertThat(patientRepository.findByEmail("ivan.new@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("evictPatient/evictDoctor прибирають сутність із кешу")
+    void evict_RemovesEntity() {
+        patientRepository.findById(patient.getId()).orElseThrow();
+        doctorRepository.findById(doctor.getId()).orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(Patient.class, patient.getId())).isTrue();
+
+        secondLevelCache.evictPatient(patient.getId());
+        secondLevelCache.evictDoctor(doctor.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Patient.class, patient.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Doctor.class, doctor.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Статистика по регіонах: влучання і промахи")
+    void getStatistics_ReportsHitsAndMisses() {
+        patientRepository.findById(patient.getId()).orElseThrow();
+        patientRepository.findById(patient.getId()).orElseThrow();
+
+        CacheRegionStatsDTO patients = secondLevelCache.getStatistics().stream()
+                .filter(region -> SecondLevelCache.PATIENTS.equals(region.getRegion()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(patients.getMissCount()).isEqualTo(1);
+        assertThat(patients.getHitCount()).isEqualTo(1);
+        assertThat(patients.getHitRatio()).isEqualTo(0.5);
+        assertThat(secondLevelCache.getStatistics()).extracting(CacheRegionStatsDTO::getRegion)
+                .contains(SecondLevelCache.DOCTORS, SecondLevelCache.PATIENTS);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
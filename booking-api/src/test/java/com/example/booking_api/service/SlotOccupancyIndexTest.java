@@ -0,0 +1,192 @@
+package com.example.booking_api.service;
+
+import com.example.booking_api.repository.AppointmentRepository;
+import com.example.booking_api.repository.BookedSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit тести для SlotOccupancyIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlotOccupancyIndex Unit Tests")
+class SlotOccupancyIndexTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private SlotOccupancyIndex index;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        index = new SlotOccupancyIndex(appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Сітка слотів - 109 слотів з 09:00 до 18:00")
+    void slotGrid_MatchesWorkingHours() {
+        assertThat(SlotOccupancyIndex.SLOTS_PER_DAY).isEqualTo(109);
+        assertThat(SlotOccupancyIndex.slotIndex(LocalTime.of(9, 0))).isZero();
+        assertThat(SlotOccupancyIndex.slotIndex(LocalTime.of(18, 0))).isEqualTo(108);
+        assertThat(SlotOccupancyIndex.slotIndex(LocalTime.of(9, 7))).isEqualTo(-1);
+        assertThat(SlotOccupancyIndex.slotIndex(LocalTime.of(8, 55))).isEqualTo(-1);
+        assertThat(SlotOccupancyIndex.slotIndex(LocalTime.of(18, 5))).isEqualTo(-1);
+        assertThat(SlotOccupancyIndex.slotTime(108)).isEqualTo(LocalTime.of(18, 0));
+    }
+
+    @Test
+    @DisplayName("Прогрів - слоти з БД позначені як зайняті")
+    void warmUp_LoadsActiveSlots() {
+        when(appointmentRepository.findActiveSlotsFrom(any(LocalDate.class)))
+                .thenReturn(List.of(slot(1L, date, LocalTime.of(10, 0)), slot(2L, date, LocalTime.of(17, 55))));
+
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.isOccupied(1L, date, LocalTime.of(10, 0))).isTrue();
+        assertThat(index.isOccupied(2L, date, LocalTime.of(17, 55))).isTrue();
+        assertThat(index.isOccupied(1L, date, LocalTime.of(17, 55))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Перечитування з БД - додає слоти інших інстансів і прибирає звільнені")
+    void refresh_ReplacesMasksWithDbState() {
+        index.occupy(1L, date, LocalTime.of(10, 0));
+        index.occupy(2L, date, LocalTime.of(11, 0));
+        when(appointmentRepository.findActiveSlotsFrom(any(LocalDate.class)))
+                .thenReturn(List.of(slot(1L, date, LocalTime.of(12, 0)), slot(3L, date, LocalTime.of(9, 0))));
+
+        index.refresh();
+
+        assertThat(index.isOccupied(1L, date, LocalTime.of(10, 0))).isFalse();
+        assertThat(index.isOccupied(1L, date, LocalTime.of(12, 0))).isTrue();
+        assertThat(index.isOccupied(2L, date, LocalTime.of(11, 0))).isFalse();
+        assertThat(index.freeSlots(2L, date)).hasSize(SlotOccupancyIndex.SLOTS_PER_DAY);
+        assertThat(index.isOccupied(3L, date, LocalTime.of(9, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Заняття і звільнення слоту")
+    void occupyAndRelease_UpdatesMask() {
+        index.occupy(1L, date, LocalTime.of(18, 0));
+        assertThat(index.isOccupied(1L, date, LocalTime.of(18, 0))).isTrue();
+        assertThat(index.isOccupied(1L, date.plusDays(1), LocalTime.of(18, 0))).isFalse();
+
+        index.release(1L, date, LocalTime.of(18, 0));
+        assertThat(index.isOccupied(1L, date, LocalTime.of(18, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Підтвердження зайнятості - слот, звільнений іншим інстансом, перечитується з БД")
+    void confirmOccupied_StaleSlot_ReloadsDayFromDb() {
+        index.occupy(1L, date, LocalTime.of(10, 0));
+        index.occupy(1L, date, LocalTime.of(11, 0));
+        when(appointmentRepository.findActiveSlots(List.of(1L), date, date))
+                .thenReturn(List.of(slot(1L, date, LocalTime.of(11, 0)), slot(1L, date, LocalTime.of(12, 0))));
+
+        assertThat(index.confirmOccupied(1L, date, LocalTime.of(10, 0))).isFalse();
+
+        assertThat(index.isOccupied(1L, date, LocalTime.of(10, 0))).isFalse();
+        assertThat(index.isOccupied(1L, date, LocalTime.of(12, 0))).isTrue();
+        assertThat(index.confirmOccupied(1L, date, LocalTime.of(11, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Підтвердження зайнятості - вільний в індексі слот не запитує БД")
+    void confirmOccupied_FreeSlot_SkipsDb() {
+        assertThat(index.confirmOccupied(1L, date, LocalTime.of(10, 0))).isFalse();
+
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Вільні слоти - усі, крім зайнятих, у порядку часу")
+    void freeSlots_ExcludesOccupied() {
+        index.occupy(1L, date, LocalTime.of(9, 0));
+        index.occupy(1L, date, LocalTime.of(14, 20));  // слот 64 - друге слово маски
+
+        List<LocalTime> free = index.freeSlots(1L, date);
+
+        assertThat(free).hasSize(107);
+        assertThat(free.get(0)).isEqualTo(LocalTime.of(9, 5));
+        assertThat(free).doesNotContain(LocalTime.of(9, 0), LocalTime.of(14, 20));
+        assertThat(free.get(free.size() - 1)).isEqualTo(LocalTime.of(18, 0));
+        assertThat(index.freeSlots(2L, date)).hasSize(109);
+    }
+
+    @Test
+    @DisplayName("Побітові операції над маскою - перший слот і відсікання минулих")
+    void maskOperations_FindFirstAndClearBefore() {
+        index.occupy(1L, date, LocalTime.of(9, 0));
+        long[] free = index.freeMask(1L, date);
+
+        assertThat(SlotOccupancyIndex.firstSlot(free)).isEqualTo(1);
+
+        SlotOccupancyIndex.clearBefore(free, 70);  // 14:50, друге слово маски
+        assertThat(SlotOccupancyIndex.firstSlot(free)).isEqualTo(70);
+        assertThat(SlotOccupancyIndex.slotTimes(free)).hasSize(39);
+
+        SlotOccupancyIndex.clearBefore(free, SlotOccupancyIndex.SLOTS_PER_DAY);
+        assertThat(SlotOccupancyIndex.firstSlot(free)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Час поза сіткою - індекс не відповідає, рішення за БД")
+    void offGridTime_IsNeverOccupied() {
+        index.occupy(1L, date, LocalTime.of(10, 3));
+
+        assertThat(index.isOccupied(1L, date, LocalTime.of(10, 3))).isFalse();
+        assertThat(index.freeSlots(1L, date)).hasSize(109);
+    }
+
+    @Test
+    @DisplayName("Прибирання минулих днів не зачіпає майбутні, а лікар без днів знову приймає слоти")
+    void evictPastDays_KeepsFutureAndAcceptsNewSlots() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        index.occupy(1L, yesterday, LocalTime.of(10, 0));
+        index.occupy(2L, yesterday, LocalTime.of(10, 0));
+        index.occupy(2L, date, LocalTime.of(11, 0));
+
+        index.evictBefore(LocalDate.now());
+
+        assertThat(index.isOccupied(1L, yesterday, LocalTime.of(10, 0))).isFalse();
+        assertThat(index.isOccupied(2L, yesterday, LocalTime.of(10, 0))).isFalse();
+        assertThat(index.isOccupied(2L, date, LocalTime.of(11, 0))).isTrue();
+
+        index.occupy(1L, date, LocalTime.of(12, 0));
+        assertThat(index.isOccupied(1L, date, LocalTime.of(12, 0))).isTrue();
+    }
+
+    private BookedSlot slot(Long doctorId, LocalDate date, LocalTime time) {
+        return new BookedSlot() {
+            @Override
+            public Long getDoctorId() {
+                return doctorId;
+            }
+
+            @Override
+            public LocalDate getAppointmentDate() {
+                return date;
+            }
+
+            @Override
+            public LocalTime getAppointmentTime() {
+                return time;
+            }
+        };
+    }
+}
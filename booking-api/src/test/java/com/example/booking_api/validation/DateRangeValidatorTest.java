@@ -0,0 +1,115 @@
+package com.example.booking_api.validation;
+
+import com.example.booking_api.dto.validation.DateRange;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тести для @DateRange: LocalDate, LocalDateTime і LocalTime, поля з геттерами і без
+ */
+class DateRangeValidatorTest {
+
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    void localDate_shouldRequireStartBeforeEnd() {
+        LocalDate today = LocalDate.of(2026, 3, 10);
+
+        assertThat(validator.validate(new DateFilter(today, today.plusDays(1)))).isEmpty();
+        assertThat(validator.validate(new DateFilter(today, today))).hasSize(1);
+        assertThat(validator.validate(new DateFilter(today.plusDays(1), today)))
+                .singleElement()
+                .extracting(ConstraintViolation::getMessage)
+                .isEqualTo("Дата початку повинна бути раніше дати закінчення");
+    }
+
+    @Test
+    void localDateTimeAndLocalTime_shouldBeSupported() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+        assertThat(validator.validate(new Visit(now, now.plusMinutes(30)))).isEmpty();
+        assertThat(validator.validate(new Visit(now, now.minusSeconds(1)))).hasSize(1);
+        assertThat(validator.validate(new WorkingHours(LocalTime.of(9, 0), LocalTime.of(18, 0)))).isEmpty();
+        assertThat(validator.validate(new WorkingHours(LocalTime.of(18, 0), LocalTime.of(9, 0)))).hasSize(1);
+    }
+
+    @Test
+    void shouldPassValidation_whenOneOfFieldsIsNull() {
+        assertThat(validator.validate(new DateFilter(null, LocalDate.of(2026, 3, 10)))).isEmpty();
+        assertThat(validator.validate(new WorkingHours(LocalTime.NOON, null))).isEmpty();
+    }
+
+    @Test
+    void shouldFailValidation_whenFieldIsMissingOrTypesDiffer() {
+        Set<ConstraintViolation<MissingField>> missing = validator.validate(new MissingField(LocalDate.of(2026, 3, 10)));
+        Set<ConstraintViolation<MixedTypes>> mixed = validator.validate(
+                new MixedTypes(LocalDate.of(2026, 3, 10), LocalDateTime.of(2026, 3, 11, 9, 0)));
+
+        assertThat(missing).hasSize(1);
+        assertThat(mixed).hasSize(1);
+    }
+
+    @Test
+    void validatorShouldBeReusable_forManyInstancesOfSameClass() {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(validator.validate(new DateFilter(start, start.plusDays(i)))).isEmpty();
+        }
+    }
+
+    // ========== DTO для тестів ==========
+
+    @Data
+    @AllArgsConstructor
+    @DateRange(startField = "from", endField = "to")
+    public static class DateFilter {
+        private LocalDate from;
+        private LocalDate to;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @DateRange(startField = "startsAt", endField = "endsAt")
+    public static class Visit {
+        private LocalDateTime startsAt;
+        private LocalDateTime endsAt;
+    }
+
+    /** Без геттерів і не публічний - поля читаються напряму */
+    @AllArgsConstructor
+    @DateRange(startField = "opensAt", endField = "closesAt")
+    private static class WorkingHours {
+        private LocalTime opensAt;
+        private LocalTime closesAt;
+    }
+
+    @AllArgsConstructor
+    @DateRange(startField = "from", endField = "to")
+    private static class MissingField {
+        private LocalDate from;
+    }
+
+    @AllArgsConstructor
+    @DateRange(startField = "from", endField = "to")
+    private static class MixedTypes {
+        private LocalDate from;
+        private LocalDateTime to;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.booking_api.validation;
+
+import com.example.booking_api.dto.validation.PhoneNumberValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тести для PhoneNumberValidator: прохід по символах має приймати рівно те саме, що й попередній
+ * регулярний вираз ^(\+380|0)[0-9]{9}$
+ */
+class PhoneNumberValidatorTest {
+
+    private static final Pattern FORMAT = Pattern.compile("^(\\+380|0)[0-9]{9}$");
+
+    private final PhoneNumberValidator validator = new PhoneNumberValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+380501234567", "0501234567", "+380000000000", "0999999999"})
+    void isValid_shouldAccept_whenFormatIsCorrect(String phoneNumber) {
+        assertThat(validator.isValid(phoneNumber, null)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12345", "+38050123456", "+3805012345678", "050123456", "05012345678",
+            "+381501234567", "+480501234567", "380501234567", "1501234567", "+38050123456a",
+            "050-123-4567", " 0501234567", "+380５01234567", "0501234567\n"})
+    void isValid_shouldReject_whenFormatIsWrong(String phoneNumber) {
+        assertThat(validator.isValid(phoneNumber, null)).isFalse();
+    }
+
+    @Test
+    void isValid_shouldPass_whenNullOrEmpty() {
+        assertThat(validator.isValid(null, null)).isTrue();
+        assertThat(validator.isValid("", null)).isTrue();
+    }
+
+    @Test
+    void isValidNumber_shouldMatchRegex_forEveryCharacterAtEveryPosition() {
+        String[] templates = {"+380501234567", "0501234567"};
+        for (String template : templates) {
+            for (int position = 0; position < template.length(); position++) {
+                for (char c = 0; c < 256; c++) {
+                    String candidate = template.substring(0, position) + c + template.substring(position + 1);
+                    assertThat(PhoneNumberValidator.isValidNumber(candidate))
+                            .as(candidate)
+                            .isEqualTo(FORMAT.matcher(candidate).matches());
+                }
+            }
+        }
+    }
+
+    @Test
+    void normalize_shouldConvertLocalFormatToInternational() {
+        assertThat(PhoneNumberValidator.normalize("0501234567")).isEqualTo("+380501234567");
+        assertThat(PhoneNumberValidator.normalize("+380501234567")).isEqualTo("+380501234567");
+        assertThat(PhoneNumberValidator.normalize("050123")).isEqualTo("050123");
+        assertThat(PhoneNumberValidator.normalize(null)).isNull();
+    }
+}